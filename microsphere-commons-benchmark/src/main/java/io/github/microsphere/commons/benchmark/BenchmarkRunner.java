@@ -0,0 +1,35 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The runner of the benchmarks with the {@link GCProfiler allocation profiling} ("-prof gc") enabled, thus both the
+ * throughput and the bytes per operation ("gc.alloc.rate.norm") are reported. The arguments are as same as JMH's
+ * command line, e.g :
+ * <pre>
+ * java -jar microsphere-commons-benchmark/target/benchmarks.jar ClassUtilsBenchmark -rf json
+ * </pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.util.ClassLoaderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClassLoaderUtils} Benchmark
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassLoaderUtils
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassLoaderUtilsBenchmark {
+
+    private ClassLoader classLoader;
+
+    @Setup
+    public void setup() {
+        classLoader = ClassLoaderUtilsBenchmark.class.getClassLoader();
+    }
+
+    @Benchmark
+    public Class<?> findLoadedClass() {
+        return ClassLoaderUtils.findLoadedClass(classLoader, "java.lang.String");
+    }
+
+    @Benchmark
+    public Class<?> findLoadedClassOnAbsent() {
+        return ClassLoaderUtils.findLoadedClass(classLoader, "io.github.microsphere.commons.NonExistedClass");
+    }
+
+    @Benchmark
+    public Set<URL> getResources() throws IOException {
+        return ClassLoaderUtils.getResources(classLoader, "META-INF/MANIFEST.MF");
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.util.ClassUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClassUtils} Benchmark, the class path index is built in the {@link Setup setup}, thus the lookups are
+ * measured on the warm index
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassUtils
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassUtilsBenchmark {
+
+    private String className;
+
+    private String absentClassName;
+
+    private String resourceName;
+
+    @Setup
+    public void setup() {
+        className = ClassUtils.class.getName();
+        absentClassName = "io.github.microsphere.commons.util.NonExistedClass";
+        resourceName = "io/github/microsphere/commons/util/ClassUtils.class";
+        ClassUtils.findClassPath(absentClassName);
+    }
+
+    @Benchmark
+    public String findClassPath() {
+        return ClassUtils.findClassPath(className);
+    }
+
+    @Benchmark
+    public String findClassPathOnAbsent() {
+        return ClassUtils.findClassPath(absentClassName);
+    }
+
+    @Benchmark
+    public String resolveClassName() {
+        return ClassUtils.resolveClassName(resourceName);
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.text.FormatUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FormatUtils} Benchmark
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see FormatUtils
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatUtilsBenchmark {
+
+    private String pattern = "The class[{}] was found in the class path[{}] , elapsed {} ms";
+
+    private Object[] args = new Object[]{"io.github.microsphere.commons.util.ClassUtils", "/opt/lib/microsphere-commons-core.jar", 12L};
+
+    @Benchmark
+    public String format() {
+        return FormatUtils.format(pattern, args);
+    }
+}
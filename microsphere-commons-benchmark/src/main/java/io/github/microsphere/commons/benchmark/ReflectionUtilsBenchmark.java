@@ -0,0 +1,43 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.reflect.ReflectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReflectionUtils} Benchmark
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ReflectionUtils
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectionUtilsBenchmark {
+
+    @Benchmark
+    public Class<?> getCallerClass() {
+        return ReflectionUtils.getCallerClass();
+    }
+
+    @Benchmark
+    public String getCallerClassName() {
+        return ReflectionUtils.getCallerClassName();
+    }
+}
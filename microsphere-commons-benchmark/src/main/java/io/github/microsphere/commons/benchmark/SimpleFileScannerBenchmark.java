@@ -0,0 +1,117 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.io.scanner.SimpleFileScanner;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimpleFileScanner} Benchmark on the generated directory tree, comparing with the legacy recursion of {@link
+ * File#listFiles()} which copies the {@link Set} of each level into its parent
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SimpleFileScanner
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimpleFileScannerBenchmark {
+
+    /**
+     * The count of files in the tree
+     */
+    @Param({"10000", "500000"})
+    public int files;
+
+    /**
+     * The count of files in each directory
+     */
+    @Param({"50"})
+    public int filesPerDirectory;
+
+    private File rootDirectory;
+
+    private final IOFileFilter classFileFilter = new SuffixFileFilter(".class");
+
+    @Setup
+    public void setup() throws IOException {
+        rootDirectory = Files.createTempDirectory("microsphere-file-tree").toFile();
+        // The tree of 10 sub-directories per directory
+        int directories = Math.max(1, files / filesPerDirectory);
+        for (int i = 0; i < directories; i++) {
+            StringBuilder path = new StringBuilder();
+            for (int n = i; n > 0; n /= 10) {
+                path.append('d').append(n % 10).append(File.separatorChar);
+            }
+            File directory = new File(rootDirectory, path.toString());
+            directory.mkdirs();
+            for (int j = 0; j < filesPerDirectory; j++) {
+                new File(directory, "C" + j + ".class").createNewFile();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteQuietly(rootDirectory);
+    }
+
+    @Benchmark
+    public Set<File> scan() {
+        return SimpleFileScanner.INSTANCE.scan(rootDirectory, true, classFileFilter);
+    }
+
+    @Benchmark
+    public Set<File> legacyScan() {
+        return legacyScan(rootDirectory, true, classFileFilter);
+    }
+
+    /**
+     * The legacy implementation of {@link SimpleFileScanner#scan(File, boolean, IOFileFilter)}
+     */
+    private Set<File> legacyScan(File rootDirectory, boolean recursive, IOFileFilter ioFileFilter) {
+        final Set<File> filesSet = new LinkedHashSet<>();
+        if (ioFileFilter.accept(rootDirectory)) {
+            filesSet.add(rootDirectory);
+        }
+        File[] subFiles = rootDirectory.listFiles();
+        if (subFiles != null) {
+            for (File subFile : subFiles) {
+                if (ioFileFilter.accept(subFile)) {
+                    filesSet.add(subFile);
+                }
+                if (recursive && subFile.isDirectory()) {
+                    filesSet.addAll(legacyScan(subFile, recursive, ioFileFilter));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(filesSet);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.constants.PathConstants;
+import io.github.microsphere.commons.net.URLUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link URLUtils} Benchmark
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see URLUtils
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class URLUtilsBenchmark {
+
+    @Param({"/home/user/index.html", "C:\\\\\\Windows\\/temp\\\\microsphere", "/home/////user//////index.html"})
+    public String path;
+
+    @Param({"microsphere-commons", "%E4%B8%AD%E6%96%87+microsphere%2Fcommons"})
+    public String encodedValue;
+
+    private final StringBuilder pathBuilder = new StringBuilder();
+
+    @Benchmark
+    public String resolvePath() {
+        return URLUtils.resolvePath(path);
+    }
+
+    @Benchmark
+    public StringBuilder resolvePathIntoStringBuilder() {
+        pathBuilder.setLength(0);
+        return URLUtils.resolvePath(path, pathBuilder);
+    }
+
+    /**
+     * The baseline of {@link URLUtils#resolvePath(String)}, which replaces the slashes repeatedly
+     */
+    @Benchmark
+    public String resolvePathByReplacing() {
+        if (StringUtils.isBlank(path)) {
+            return path;
+        }
+        String resolvedPath = path.trim();
+        while (resolvedPath.contains(PathConstants.BACK_SLASH)) {
+            resolvedPath = StringUtils.replace(resolvedPath, PathConstants.BACK_SLASH, PathConstants.SLASH);
+        }
+        while (resolvedPath.contains(PathConstants.DOUBLE_SLASH)) {
+            resolvedPath = StringUtils.replace(resolvedPath, PathConstants.DOUBLE_SLASH, PathConstants.SLASH);
+        }
+        return resolvedPath;
+    }
+
+    @Benchmark
+    public String decode() {
+        return URLUtils.decode(encodedValue);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark;
+
+import io.github.microsphere.commons.misc.UnsafeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UnsafeUtils} Benchmark on the field accessors
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see UnsafeUtils
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnsafeUtilsBenchmark {
+
+    private final Model model = new Model();
+
+    @Benchmark
+    public long getLong() {
+        return UnsafeUtils.getLong(model, "longValue");
+    }
+
+    @Benchmark
+    public void putLong() {
+        UnsafeUtils.putLong(model, "longValue", 1L);
+    }
+
+    @Benchmark
+    public long getLongVolatile() {
+        return UnsafeUtils.getLongVolatile(model, "longValue");
+    }
+
+    @Benchmark
+    public int getInt() {
+        return UnsafeUtils.getInt(model, "intValue");
+    }
+
+    @Benchmark
+    public Object getObject() {
+        return UnsafeUtils.getObject(model, "objectValue");
+    }
+
+    @Benchmark
+    public void putObject() {
+        UnsafeUtils.putObject(model, "objectValue", model);
+    }
+
+    public static class Model {
+
+        private long longValue;
+
+        private int intValue;
+
+        private Object objectValue;
+    }
+}
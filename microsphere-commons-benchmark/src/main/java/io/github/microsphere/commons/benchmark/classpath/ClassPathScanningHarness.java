@@ -0,0 +1,172 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark.classpath;
+
+import io.github.microsphere.commons.classloading.ArtifactCollisionResourceDetector;
+import io.github.microsphere.commons.io.scanner.SimpleClassScanner;
+import io.github.microsphere.commons.io.scanner.SimpleFileScanner;
+import io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner;
+import io.github.microsphere.commons.util.ClassUtils;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.jar.JarFile;
+
+/**
+ * The macro benchmark harness of the class path scanning and indexing on the {@link SyntheticClassPath synthetic class
+ * path}, which reports the average time, the peak heap and the file handles opened of each scenario :
+ * <ul>
+ *     <li>ClassUtils indexing : {@link ClassUtils#findClassNamesInClassPath(String, boolean)} for all entries</li>
+ *     <li>{@link SimpleClassScanner#scan(ClassLoader, String, boolean, boolean)} on the root package, whose results
+ *     are not cached, thus each iteration scans the class path</li>
+ *     <li>{@link SimpleJarEntryScanner#scan(JarFile, boolean)} for all jars</li>
+ *     <li>{@link SimpleFileScanner#scan(File, boolean)} for all directories</li>
+ *     <li>{@link ArtifactCollisionResourceDetector#detect()}</li>
+ * </ul>
+ * The options (default value) :
+ * <pre>
+ * --jars=10,100,1000   the counts of jars, one synthetic class path for each
+ * --directories=10     the count of classes directories
+ * --classes=100        the count of classes in each jar or directory
+ * --depth=4            the depth of packages under the root package
+ * --nested=0           the count of nested jars in the fat jar
+ * --iterations=3       the measured iterations after one warmup
+ * </pre>
+ * e.g : java -cp microsphere-commons-benchmark/target/benchmarks.jar
+ * io.github.microsphere.commons.benchmark.classpath.ClassPathScanningHarness --jars=10,100 --nested=20
+ * <p/>
+ * On JDK 9+, "--add-opens java.base/java.lang=ALL-UNNAMED" is required by {@link
+ * io.github.microsphere.commons.util.ClassLoaderUtils}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SyntheticClassPath
+ * @see ResourceUsage
+ * @since 1.0.0
+ */
+public class ClassPathScanningHarness {
+
+    private static final String ROW_FORMAT = "%-6s %-24s %14s %14s %12s %12s%n";
+
+    /**
+     * The scanner without the cache of scan results, otherwise the measured iterations would be the cache hits
+     */
+    private static final SimpleClassScanner classScanner = new SimpleClassScanner(0);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int directories = Integer.parseInt(options.get("directories"));
+        int classes = Integer.parseInt(options.get("classes"));
+        int depth = Integer.parseInt(options.get("depth"));
+        int nested = Integer.parseInt(options.get("nested"));
+        int iterations = Integer.parseInt(options.get("iterations"));
+
+        System.out.printf(ROW_FORMAT, "jars", "scenario", "avg time(ms)", "peak heap(MB)", "peak fds", "leaked fds");
+        for (String jars : options.get("jars").split(",")) {
+            SyntheticClassPath classPath = new SyntheticClassPath(Integer.parseInt(jars.trim()), directories, classes, depth, nested);
+            File rootDirectory = Files.createTempDirectory("microsphere-synthetic-class-path").toFile();
+            try {
+                classPath.generate(rootDirectory);
+                run(jars, classPath, iterations);
+            } finally {
+                FileUtils.deleteQuietly(rootDirectory);
+            }
+        }
+    }
+
+    private static void run(String jars, final SyntheticClassPath classPath, int iterations) throws Exception {
+        try (final URLClassLoader classLoader = new URLClassLoader(classPath.getClassPathURLs(), null)) {
+            Map<String, Callable<?>> scenarios = new LinkedHashMap<>();
+            scenarios.put("ClassUtils indexing", new Callable<Object>() {
+                @Override
+                public Object call() {
+                    int count = 0;
+                    for (File entry : classPath.getClassPathEntries()) {
+                        count += ClassUtils.findClassNamesInClassPath(entry.getAbsolutePath(), true).size();
+                    }
+                    return count;
+                }
+            });
+            scenarios.put("SimpleClassScanner", new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return classScanner.scan(classLoader, SyntheticClassPath.ROOT_PACKAGE_NAME, true, false);
+                }
+            });
+            scenarios.put("SimpleJarEntryScanner", new Callable<Object>() {
+                @Override
+                public Object call() throws IOException {
+                    int count = 0;
+                    for (File jar : classPath.getJarFiles()) {
+                        try (JarFile jarFile = new JarFile(jar)) {
+                            count += SimpleJarEntryScanner.INSTANCE.scan(jarFile, true).size();
+                        }
+                    }
+                    return count;
+                }
+            });
+            scenarios.put("SimpleFileScanner", new Callable<Object>() {
+                @Override
+                public Object call() {
+                    int count = 0;
+                    for (File directory : classPath.getClassesDirectories()) {
+                        count += SimpleFileScanner.INSTANCE.scan(directory, true).size();
+                    }
+                    return count;
+                }
+            });
+            scenarios.put("ArtifactCollision", new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return new ArtifactCollisionResourceDetector(classLoader).detect();
+                }
+            });
+
+            for (Map.Entry<String, Callable<?>> scenario : scenarios.entrySet()) {
+                ResourceUsage.measure(scenario.getValue()); // warmup
+                long elapsedNanos = 0;
+                long peakHeapBytes = 0;
+                long peakOpenedFileHandles = 0;
+                long leakedFileHandles = 0;
+                for (int i = 0; i < iterations; i++) {
+                    ResourceUsage resourceUsage = ResourceUsage.measure(scenario.getValue());
+                    elapsedNanos += resourceUsage.getElapsedNanos();
+                    peakHeapBytes = Math.max(peakHeapBytes, resourceUsage.getPeakHeapBytes());
+                    peakOpenedFileHandles = Math.max(peakOpenedFileHandles, resourceUsage.getPeakOpenedFileHandles());
+                    leakedFileHandles = Math.max(leakedFileHandles, resourceUsage.getLeakedFileHandles());
+                }
+                System.out.printf(ROW_FORMAT, jars, scenario.getKey(),
+                        String.format("%.2f", elapsedNanos / iterations / 1e6),
+                        String.format("%.1f", peakHeapBytes / 1024.0 / 1024.0),
+                        peakOpenedFileHandles, leakedFileHandles);
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("jars", "10,100,1000");
+        options.put("directories", "10");
+        options.put("classes", "100");
+        options.put("depth", "4");
+        options.put("nested", "0");
+        options.put("iterations", "3");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("The option[" + arg + "] is illegal, e.g --jars=10,100");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!options.containsKey(name)) {
+                throw new IllegalArgumentException("The option[" + name + "] is unknown, the options : " + options.keySet());
+            }
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
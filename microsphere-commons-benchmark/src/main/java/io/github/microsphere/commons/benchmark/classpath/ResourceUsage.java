@@ -0,0 +1,137 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark.classpath;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.Callable;
+
+/**
+ * The measurement of one operation : the elapsed time, the peak heap and the file handles opened, the peak of file
+ * handles is sampled by a daemon thread during the operation, and is not available out of the Unix-like OS.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class ResourceUsage {
+
+    private static final long SAMPLING_INTERVAL = 2;
+
+    private final long elapsedNanos;
+
+    private final long peakHeapBytes;
+
+    private final long peakOpenedFileHandles;
+
+    private final long leakedFileHandles;
+
+    private ResourceUsage(long elapsedNanos, long peakHeapBytes, long peakOpenedFileHandles, long leakedFileHandles) {
+        this.elapsedNanos = elapsedNanos;
+        this.peakHeapBytes = peakHeapBytes;
+        this.peakOpenedFileHandles = peakOpenedFileHandles;
+        this.leakedFileHandles = leakedFileHandles;
+    }
+
+    /**
+     * Measure the operation
+     *
+     * @param operation the operation
+     * @return {@link ResourceUsage}
+     * @throws Exception If the operation failed
+     */
+    public static ResourceUsage measure(Callable<?> operation) throws Exception {
+        System.gc();
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                memoryPool.resetPeakUsage();
+            }
+        }
+        final long baselineFileHandles = getOpenFileHandles();
+        FileHandlesSampler sampler = new FileHandlesSampler(baselineFileHandles);
+        Thread samplerThread = new Thread(sampler, "file-handles-sampler");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+
+        long startTime = System.nanoTime();
+        try {
+            operation.call();
+        } finally {
+            sampler.stopped = true;
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        samplerThread.join();
+
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                peakHeapBytes += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        long fileHandles = getOpenFileHandles();
+        long peakOpenedFileHandles = baselineFileHandles < 0 ? -1 : Math.max(sampler.peak, fileHandles) - baselineFileHandles;
+        long leakedFileHandles = baselineFileHandles < 0 ? -1 : fileHandles - baselineFileHandles;
+        return new ResourceUsage(elapsedNanos, peakHeapBytes, peakOpenedFileHandles, leakedFileHandles);
+    }
+
+    /**
+     * @return the count of open file handles of current process, or -1 if not supported
+     */
+    static long getOpenFileHandles() {
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystem instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) operatingSystem).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * @return the peak of file handles opened during the operation, or -1 if not supported
+     */
+    public long getPeakOpenedFileHandles() {
+        return peakOpenedFileHandles;
+    }
+
+    /**
+     * @return the file handles which were still open after the operation, or -1 if not supported
+     */
+    public long getLeakedFileHandles() {
+        return leakedFileHandles;
+    }
+
+    private static class FileHandlesSampler implements Runnable {
+
+        private volatile boolean stopped;
+
+        private volatile long peak;
+
+        FileHandlesSampler(long baseline) {
+            this.peak = baseline;
+        }
+
+        @Override
+        public void run() {
+            if (peak < 0) {
+                return;
+            }
+            while (!stopped) {
+                peak = Math.max(peak, getOpenFileHandles());
+                try {
+                    Thread.sleep(SAMPLING_INTERVAL);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.benchmark.classpath;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+/**
+ * The synthetic class path, which generates the jars and the classes directories with the minimal valid class files
+ * in the configurable package depth, and the fat jar with the nested jars in "BOOT-INF/lib/" optionally, so that the
+ * scale of production class path could be reproduced without the real artifacts.
+ * <p/>
+ * The class names are "io.github.microsphere.synthetic.e{entry}.l1...l{depth - 1}.p{package}.C{class}", every jar has
+ * the Maven "pom.properties" of artifact "io.github.microsphere-synthetic:synthetic-{entry}", and one of directories
+ * has the config of {@link io.github.microsphere.commons.classloading.ArtifactCollisionResourceDetector} for the
+ * first ten artifacts.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class SyntheticClassPath {
+
+    /**
+     * The root package of all synthetic classes
+     */
+    public static final String ROOT_PACKAGE_NAME = "io.github.microsphere.synthetic";
+
+    public static final String GROUP_ID = "io.github.microsphere-synthetic";
+
+    /**
+     * The count of leaf packages in one entry
+     */
+    private static final int PACKAGES_PER_ENTRY = 10;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final int jars;
+
+    private final int directories;
+
+    private final int classesPerEntry;
+
+    private final int packageDepth;
+
+    private final int nestedJars;
+
+    private final List<File> jarFiles = new ArrayList<>();
+
+    private final List<File> classesDirectories = new ArrayList<>();
+
+    private File fatJarFile;
+
+    /**
+     * @param jars            the count of jars
+     * @param directories     the count of classes directories
+     * @param classesPerEntry the count of classes in each jar or directory
+     * @param packageDepth    the depth of packages under {@link #ROOT_PACKAGE_NAME}, at least 2
+     * @param nestedJars      the count of nested jars in the fat jar, no fat jar if zero
+     */
+    public SyntheticClassPath(int jars, int directories, int classesPerEntry, int packageDepth, int nestedJars) {
+        this.jars = jars;
+        this.directories = directories;
+        this.classesPerEntry = classesPerEntry;
+        this.packageDepth = Math.max(2, packageDepth);
+        this.nestedJars = nestedJars;
+    }
+
+    /**
+     * Generate the class path into the root directory
+     *
+     * @param rootDirectory the root directory
+     * @throws IOException If the files can't be written
+     */
+    public void generate(File rootDirectory) throws IOException {
+        int entry = 0;
+        for (int i = 0; i < jars; i++, entry++) {
+            File jarFile = new File(rootDirectory, "synthetic-" + entry + ".jar");
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(jarFile))) {
+                writeJar(entry, outputStream, ZipEntry.DEFLATED);
+            }
+            jarFiles.add(jarFile);
+        }
+        for (int i = 0; i < directories; i++, entry++) {
+            File classesDirectory = new File(rootDirectory, "synthetic-" + entry + "-classes");
+            for (String className : classNames(entry)) {
+                File classFile = new File(classesDirectory, toResourceName(className));
+                classFile.getParentFile().mkdirs();
+                try (OutputStream outputStream = new FileOutputStream(classFile)) {
+                    outputStream.write(classFile(className));
+                }
+            }
+            if (i == 0) {
+                File configFile = new File(classesDirectory, "META-INF/artifacts-collision.json");
+                configFile.getParentFile().mkdirs();
+                try (OutputStream outputStream = new FileOutputStream(configFile)) {
+                    outputStream.write(collisionConfig().getBytes(UTF_8));
+                }
+            }
+            classesDirectories.add(classesDirectory);
+        }
+        if (nestedJars > 0) {
+            fatJarFile = new File(rootDirectory, "synthetic-fat.jar");
+            try (JarOutputStream outputStream = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fatJarFile)))) {
+                putDirectories(outputStream, "BOOT-INF/lib/", new LinkedHashSet<String>());
+                for (int i = 0; i < nestedJars; i++, entry++) {
+                    ByteArrayOutputStream nestedJar = new ByteArrayOutputStream();
+                    writeJar(entry, nestedJar, ZipEntry.DEFLATED);
+                    putStoredEntry(outputStream, "BOOT-INF/lib/synthetic-" + entry + ".jar", nestedJar.toByteArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the jar files, the directories and the fat jar in order
+     */
+    public List<File> getClassPathEntries() {
+        List<File> entries = new ArrayList<>(jarFiles);
+        entries.addAll(classesDirectories);
+        if (fatJarFile != null) {
+            entries.add(fatJarFile);
+        }
+        return entries;
+    }
+
+    public URL[] getClassPathURLs() throws MalformedURLException {
+        List<File> entries = getClassPathEntries();
+        URL[] urls = new URL[entries.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = entries.get(i).toURI().toURL();
+        }
+        return urls;
+    }
+
+    public List<File> getJarFiles() {
+        return jarFiles;
+    }
+
+    public List<File> getClassesDirectories() {
+        return classesDirectories;
+    }
+
+    public int getClassesCount() {
+        return (jars + directories + nestedJars) * classesPerEntry;
+    }
+
+    private void writeJar(int entry, OutputStream outputStream, int method) throws IOException {
+        JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+        jarOutputStream.setMethod(method);
+        Set<String> directories = new LinkedHashSet<>();
+        for (String className : classNames(entry)) {
+            String resourceName = toResourceName(className);
+            putDirectories(jarOutputStream, resourceName.substring(0, resourceName.lastIndexOf('/') + 1), directories);
+            jarOutputStream.putNextEntry(new JarEntry(resourceName));
+            jarOutputStream.write(classFile(className));
+            jarOutputStream.closeEntry();
+        }
+        String pomProperties = "META-INF/maven/" + GROUP_ID + "/synthetic-" + entry + "/pom.properties";
+        putDirectories(jarOutputStream, pomProperties.substring(0, pomProperties.lastIndexOf('/') + 1), directories);
+        jarOutputStream.putNextEntry(new JarEntry(pomProperties));
+        jarOutputStream.write(("groupId=" + GROUP_ID + "\nartifactId=synthetic-" + entry + "\nversion=1.0.0\n").getBytes(UTF_8));
+        jarOutputStream.closeEntry();
+        jarOutputStream.finish();
+    }
+
+    private void putDirectories(JarOutputStream outputStream, String directory, Set<String> directories) throws IOException {
+        int index = directory.indexOf('/');
+        while (index > -1) {
+            String name = directory.substring(0, index + 1);
+            if (directories.add(name)) {
+                outputStream.putNextEntry(new JarEntry(name));
+                outputStream.closeEntry();
+            }
+            index = directory.indexOf('/', index + 1);
+        }
+    }
+
+    private void putStoredEntry(JarOutputStream outputStream, String name, byte[] data) throws IOException {
+        JarEntry jarEntry = new JarEntry(name);
+        jarEntry.setMethod(ZipEntry.STORED);
+        jarEntry.setSize(data.length);
+        CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        jarEntry.setCrc(crc32.getValue());
+        outputStream.putNextEntry(jarEntry);
+        outputStream.write(data);
+        outputStream.closeEntry();
+    }
+
+    private List<String> classNames(int entry) {
+        StringBuilder packagePrefix = new StringBuilder(ROOT_PACKAGE_NAME).append(".e").append(entry);
+        for (int level = 1; level < packageDepth - 1; level++) {
+            packagePrefix.append(".l").append(level);
+        }
+        List<String> classNames = new ArrayList<>(classesPerEntry);
+        for (int i = 0; i < classesPerEntry; i++) {
+            classNames.add(packagePrefix + ".p" + (i % PACKAGES_PER_ENTRY) + ".C" + i);
+        }
+        return classNames;
+    }
+
+    private String collisionConfig() {
+        StringBuilder config = new StringBuilder("{\"").append(GROUP_ID).append("\":{");
+        int artifacts = Math.min(10, jars);
+        for (int i = 0; i < artifacts; i++) {
+            if (i > 0) {
+                config.append(',');
+            }
+            config.append("\"synthetic-").append(i).append("\":\"*\"");
+        }
+        return config.append("}}").toString();
+    }
+
+    private static String toResourceName(String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    /**
+     * The minimal valid class file of the public class extending {@link Object} without any member
+     */
+    static byte[] classFile(String className) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream outputStream = new DataOutputStream(bytes);
+        outputStream.writeInt(0xCAFEBABE);
+        outputStream.writeShort(0);  // minor version
+        outputStream.writeShort(52); // major version : Java 8
+        outputStream.writeShort(5);  // constant pool count
+        outputStream.writeByte(7);   // #1 Class #2
+        outputStream.writeShort(2);
+        outputStream.writeByte(1);   // #2 Utf8 this class
+        outputStream.writeUTF(className.replace('.', '/'));
+        outputStream.writeByte(7);   // #3 Class #4
+        outputStream.writeShort(4);
+        outputStream.writeByte(1);   // #4 Utf8 super class
+        outputStream.writeUTF("java/lang/Object");
+        outputStream.writeShort(0x0021); // ACC_PUBLIC | ACC_SUPER
+        outputStream.writeShort(1);  // this class
+        outputStream.writeShort(3);  // super class
+        outputStream.writeShort(0);  // interfaces
+        outputStream.writeShort(0);  // fields
+        outputStream.writeShort(0);  // methods
+        outputStream.writeShort(0);  // attributes
+        outputStream.flush();
+        return bytes.toByteArray();
+    }
+}
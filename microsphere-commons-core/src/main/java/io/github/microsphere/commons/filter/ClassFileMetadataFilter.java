@@ -0,0 +1,54 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.filter;
+
+import io.github.microsphere.commons.util.ClassFileMetadata;
+
+/**
+ * {@link ClassFileMetadata} {@link Filter} interface, which filters the classes by their class file headers before
+ * class loading, it's the counterpart of {@link ClassFilter}.
+ * <p>
+ * The super class, the interfaces and the annotations of {@link ClassFileMetadata} are declared directly, the
+ * inherited ones are not resolved.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassFilter
+ * @see ClassFileMetadata
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ClassFileMetadataFilter extends Filter<ClassFileMetadata> {
+
+    /**
+     * @param annotationName the name of annotation
+     * @return the {@link ClassFileMetadataFilter} accepts the classes annotated by the annotation directly
+     */
+    static ClassFileMetadataFilter annotatedWith(String annotationName) {
+        return metadata -> metadata.hasAnnotation(annotationName);
+    }
+
+    /**
+     * @param superClassName the name of super class
+     * @return the {@link ClassFileMetadataFilter} accepts the classes extend the super class directly
+     */
+    static ClassFileMetadataFilter extendsClass(String superClassName) {
+        return metadata -> superClassName.equals(metadata.getSuperClassName());
+    }
+
+    /**
+     * @param interfaceName the name of interface
+     * @return the {@link ClassFileMetadataFilter} accepts the classes implement the interface directly
+     */
+    static ClassFileMetadataFilter implementsInterface(String interfaceName) {
+        return metadata -> metadata.hasInterface(interfaceName);
+    }
+
+    /**
+     * @param other another {@link ClassFileMetadataFilter}
+     * @return the {@link ClassFileMetadataFilter} accepts the classes accepted by both
+     */
+    default ClassFileMetadataFilter and(ClassFileMetadataFilter other) {
+        return metadata -> accept(metadata) && other.accept(metadata);
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.io.scanner;
+
+import java.io.File;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The {@link File} with the {@link BasicFileAttributes} read by the traversal, which is only passed to the filters,
+ * thus {@link #isDirectory()} and {@link #isFile()} will not stat the file again
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SimpleFileScanner
+ * @see ParallelFileScanner
+ * @since 1.0.0
+ */
+class AttributedFile extends File {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean directory;
+
+    private final boolean file;
+
+    AttributedFile(String pathname, BasicFileAttributes attributes) {
+        super(pathname);
+        this.directory = attributes.isDirectory();
+        this.file = attributes.isRegularFile();
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    @Override
+    public boolean isFile() {
+        return file;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.io.scanner;
+
+/**
+ * The snapshot of statistics of the scan result cache in {@link SimpleClassScanner}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SimpleClassScanner#getCacheStatistics()
+ * @since 1.0.0
+ */
+public class ClassScanCacheStatistics {
+
+    private final long hits;
+
+    private final long misses;
+
+    public ClassScanCacheStatistics(long hits, long misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * @return the count of scans whose class names were replayed from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the count of scans which read the class path entries, including the stale cached results
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassScanCacheStatistics{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.io.scanner;
+
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel File Scanner, the sub-directories are split as the {@link RecursiveAction tasks} of {@link ForkJoinPool},
+ * which are stolen by the idle workers, thus the I/O latency of the big exploded deployments or the network file
+ * systems is overlapped. The results are as same as {@link SimpleFileScanner}, and could be ordered (the pre-order of
+ * directory tree) or unordered (less memory and no merge).
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SimpleFileScanner
+ * @see IOFileFilter
+ * @since 1.0.0
+ */
+public class ParallelFileScanner {
+
+    /**
+     * Singleton with the parallelism of {@link Runtime#availableProcessors() available processors}
+     */
+    public final static ParallelFileScanner INSTANCE = new ParallelFileScanner(Runtime.getRuntime().availableProcessors());
+
+    private final int parallelism;
+
+    private volatile ForkJoinPool forkJoinPool;
+
+    /**
+     * @param parallelism the parallelism of scanning
+     */
+    public ParallelFileScanner(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive : " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Scan all {@link File} {@link Set} under root directory in the pre-order
+     *
+     * @param rootDirectory Root directory
+     * @param recursive     is recursive on sub directories
+     * @return Read-only {@link Set}
+     * @see SimpleFileScanner#scan(File, boolean)
+     */
+    @Nonnull
+    public Set<File> scan(File rootDirectory, boolean recursive) {
+        return scan(rootDirectory, recursive, TrueFileFilter.INSTANCE, true);
+    }
+
+    /**
+     * Scan all {@link File} {@link Set} that are accepted by {@link IOFileFilter} under root directory
+     *
+     * @param rootDirectory Root directory
+     * @param recursive     is recursive on sub directories
+     * @param ioFileFilter  {@link IOFileFilter}, which must be thread-safe
+     * @param ordered       If <code>true</code>, the {@link Set} is in the pre-order of the directory tree as same as
+     *                      {@link SimpleFileScanner#scan(File, boolean, IOFileFilter)}, or the order is undefined
+     * @return Read-only {@link Set}
+     */
+    @Nonnull
+    public Set<File> scan(File rootDirectory, boolean recursive, IOFileFilter ioFileFilter, boolean ordered) {
+        Set<File> filesSet = ordered ? new LinkedHashSet<File>() : ConcurrentHashMap.<File>newKeySet();
+        if (ioFileFilter.accept(rootDirectory)) {
+            filesSet.add(rootDirectory);
+        }
+        if (rootDirectory.isDirectory()) {
+            BasicFileAttributes attributes = DirectoryScanTask.readAttributes(rootDirectory.toPath());
+            DirectoryScanTask task = new DirectoryScanTask(null, rootDirectory.toPath(),
+                    attributes == null ? null : attributes.fileKey(), recursive, ioFileFilter, ordered ? null : filesSet);
+            getForkJoinPool().invoke(task);
+            if (ordered) {
+                task.collect(filesSet);
+            }
+        }
+        return Collections.unmodifiableSet(filesSet);
+    }
+
+    /**
+     * @return the parallelism of scanning
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private ForkJoinPool getForkJoinPool() {
+        ForkJoinPool forkJoinPool = this.forkJoinPool;
+        if (forkJoinPool == null) {
+            synchronized (this) {
+                forkJoinPool = this.forkJoinPool;
+                if (forkJoinPool == null) {
+                    forkJoinPool = new ForkJoinPool(parallelism, new ScannerWorkerThreadFactory(), null, false);
+                    this.forkJoinPool = forkJoinPool;
+                }
+            }
+        }
+        return forkJoinPool;
+    }
+
+    /**
+     * The task scans one directory, and forks the tasks of its sub-directories
+     */
+    private static class DirectoryScanTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The task of parent directory, or <code>null</code> if root
+         */
+        private final DirectoryScanTask parent;
+
+        private final Path directory;
+
+        /**
+         * The key of directory, or <code>null</code> if unavailable
+         */
+        private final Object fileKey;
+
+        private final boolean recursive;
+
+        private final IOFileFilter ioFileFilter;
+
+        /**
+         * The shared {@link Set} if unordered, or <code>null</code>
+         */
+        private final Set<File> sharedFilesSet;
+
+        /**
+         * The accepted {@link File files} and the sub-tasks in the order of directory entries if ordered
+         */
+        private List<Object> results;
+
+        DirectoryScanTask(DirectoryScanTask parent, Path directory, Object fileKey, boolean recursive,
+                          IOFileFilter ioFileFilter, Set<File> sharedFilesSet) {
+            this.parent = parent;
+            this.directory = directory;
+            this.fileKey = fileKey;
+            this.recursive = recursive;
+            this.ioFileFilter = ioFileFilter;
+            this.sharedFilesSet = sharedFilesSet;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirectoryScanTask> subTasks = null;
+            List<Object> results = sharedFilesSet == null ? new ArrayList<>() : null;
+            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory)) {
+                for (Path path : directoryStream) {
+                    BasicFileAttributes attributes = readAttributes(path);
+                    if (ioFileFilter.accept(attributes == null ? path.toFile() : new AttributedFile(path.toString(), attributes))) {
+                        File file = path.toFile();
+                        if (results == null) {
+                            sharedFilesSet.add(file);
+                        } else {
+                            results.add(file);
+                        }
+                    }
+                    if (recursive && attributes != null && attributes.isDirectory() && !isLoop(path, attributes.fileKey())) {
+                        DirectoryScanTask subTask = new DirectoryScanTask(this, path, attributes.fileKey(), true,
+                                ioFileFilter, sharedFilesSet);
+                        subTask.fork();
+                        if (subTasks == null) {
+                            subTasks = new ArrayList<>();
+                        }
+                        subTasks.add(subTask);
+                        if (results != null) {
+                            results.add(subTask);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // The directory can't be read, as same as File#listFiles() returns null
+            }
+            this.results = results;
+            if (subTasks != null) {
+                for (DirectoryScanTask subTask : subTasks) {
+                    subTask.join();
+                }
+            }
+        }
+
+        /**
+         * Collect the results into the {@link Set} in the pre-order
+         */
+        void collect(Set<File> filesSet) {
+            if (results == null) {
+                return;
+            }
+            for (Object result : results) {
+                if (result instanceof File) {
+                    filesSet.add((File) result);
+                } else {
+                    ((DirectoryScanTask) result).collect(filesSet);
+                }
+            }
+        }
+
+        /**
+         * Detect the loop by the links along the ancestor directories as same as {@link Files#walkFileTree}, thus the
+         * directory linked from the different branches is scanned in each of them
+         */
+        private boolean isLoop(Path path, Object fileKey) {
+            for (DirectoryScanTask ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                if (fileKey != null && ancestor.fileKey != null) {
+                    if (fileKey.equals(ancestor.fileKey)) {
+                        return true;
+                    }
+                } else if (isSameFile(path, ancestor.directory)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isSameFile(Path path, Path anotherPath) {
+            try {
+                return Files.isSameFile(path, anotherPath);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private static BasicFileAttributes readAttributes(Path path) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private static class ScannerWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("microsphere-file-scanner-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.io.scanner;
+
+/**
+ * The result of {@link ScanVisitor#visit(Object) visiting} a scanned result, which controls the rest of scanning
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ScanVisitor
+ * @see java.nio.file.FileVisitResult
+ * @since 1.0.0
+ */
+public enum ScanVisitResult {
+
+    /**
+     * Continue scanning
+     */
+    CONTINUE,
+
+    /**
+     * Continue scanning without the children of the visited result, e.g the files under a directory, the entries under
+     * a jar directory entry or the classes in the package of a class, it's as same as {@link #CONTINUE} if the visited
+     * result has no child
+     */
+    SKIP_SUBTREE,
+
+    /**
+     * Terminate scanning, no more result will be visited
+     */
+    TERMINATE
+}
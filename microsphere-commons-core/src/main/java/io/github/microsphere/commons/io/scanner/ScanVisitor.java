@@ -0,0 +1,43 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.io.scanner;
+
+import java.util.function.Consumer;
+
+/**
+ * The visitor of the scanned results, which are pushed one by one during scanning rather than collected into a {@link
+ * java.util.Set}, thus the caller is able to stop at the first match, prune the subtrees, or process the huge number
+ * of results in constant memory.
+ *
+ * @param <R> the type of scan result
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ScanVisitResult
+ * @see Scanner#scan(Object, io.github.microsphere.commons.filter.Filter, ScanVisitor)
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ScanVisitor<R> {
+
+    /**
+     * Visit the scanned result
+     *
+     * @param result the scanned result, which was accepted by the filter if present
+     * @return non-null {@link ScanVisitResult}
+     */
+    ScanVisitResult visit(R result);
+
+    /**
+     * Adapt the {@link Consumer} to {@link ScanVisitor}, which always {@link ScanVisitResult#CONTINUE continues}
+     *
+     * @param consumer {@link Consumer}
+     * @param <R>      the type of scan result
+     * @return non-null {@link ScanVisitor}
+     */
+    static <R> ScanVisitor<R> of(Consumer<? super R> consumer) {
+        return result -> {
+            consumer.accept(result);
+            return ScanVisitResult.CONTINUE;
+        };
+    }
+}
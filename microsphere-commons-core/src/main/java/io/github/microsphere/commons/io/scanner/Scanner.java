@@ -53,4 +53,30 @@ public interface Scanner<S, R> {
     @Nonnull
     Set<R> scan(S source, Filter<R> filter) throws IllegalArgumentException, IllegalStateException;
 
+    /**
+     * Scan source and push the results that are accepted by {@link Filter} to {@link ScanVisitor} one by one, the
+     * default implementation visits the result set of {@link #scan(Object, Filter)}, which should be overridden to
+     * scan natively without the result set.
+     *
+     * @param source
+     *         scanned source
+     * @param filter
+     *         {@link Filter<R> filter} to accept result
+     * @param visitor
+     *         {@link ScanVisitor} of the accepted results
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @throws IllegalArgumentException
+     *         scanned source is not legal
+     * @throws IllegalStateException
+     *         scanned source's state is not valid
+     */
+    default boolean scan(S source, Filter<R> filter, ScanVisitor<R> visitor) throws IllegalArgumentException, IllegalStateException {
+        for (R result : scan(source, filter)) {
+            if (visitor.visit(result) == ScanVisitResult.TERMINATE) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -3,20 +3,33 @@
  */
 package io.github.microsphere.commons.io.scanner;
 
-import io.github.microsphere.commons.filter.FilterUtils;
-import io.github.microsphere.commons.filter.PackageNameClassNameFilter;
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.constants.ProtocolConstants;
+import io.github.microsphere.commons.constants.SeparatorConstants;
+import io.github.microsphere.commons.filter.ClassFileMetadataFilter;
+import io.github.microsphere.commons.util.ClassFileMetadata;
 import io.github.microsphere.commons.util.ClassLoaderUtils;
 import io.github.microsphere.commons.util.ClassUtils;
+import io.github.microsphere.commons.util.jar.JarUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Simple {@link Class} Scanner
+ * <p/>
+ * The scanned class names are cached per {@link ClassLoader}, the cached results are stale only if the {@link
+ * ClassUtils#getClassPathIndexVersion() version of class path index} was changed, which is tracked only when {@link
+ * ClassUtils#CLASS_PATH_INDEX_WATCH_PROPERTY_NAME the watcher} is enabled. Otherwise, {@link #invalidate()} or {@link
+ * #invalidate(ClassLoader)} must be invoked after the class path is changed at runtime.
  *
  * @author <a href="mercyblitz@gmail.com">Mercy<a/>
  * @version 1.0.0
@@ -25,12 +38,43 @@ import java.util.*;
  */
 public class SimpleClassScanner {
 
+    /**
+     * The name of the System Property for the max count of the cached scan results per {@link ClassLoader} of {@link
+     * #SimpleClassScanner() the default scanner}, <code>0</code> means the cache is disabled
+     */
+    public static final String CACHE_SIZE_PROPERTY_NAME = "microsphere.class-scanner.cache.size";
+
     /**
      * Singleton
      */
     public final static SimpleClassScanner INSTANCE = new SimpleClassScanner();
 
+    private final int cacheSize;
+
+    /**
+     * The cache of the scanned class names, the {@link ClassLoader ClassLoaders} are held weakly, and the class names
+     * rather than the {@link Class classes} are cached, thus the {@link ClassLoader ClassLoaders} will not be pinned
+     * after undeploy. Guarded by itself.
+     */
+    private final Map<ClassLoader, Map<ScanKey, CachedClassNames>> cache = new WeakHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
     public SimpleClassScanner() {
+        this(Integer.getInteger(CACHE_SIZE_PROPERTY_NAME, 64));
+    }
+
+    /**
+     * @param cacheSize the max count of the cached scan results per {@link ClassLoader}, <code>0</code> means the
+     *                  cache is disabled
+     */
+    public SimpleClassScanner(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative : " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
     }
 
     /**
@@ -77,11 +121,104 @@ public class SimpleClassScanner {
      */
     public Set<Class<?>> scan(ClassLoader classLoader, String packageName, final boolean recursive, boolean requiredLoad) throws IllegalArgumentException, IllegalStateException {
         Set<Class<?>> classesSet = new LinkedHashSet();
+        scan(classLoader, packageName, recursive, requiredLoad, ScanVisitor.of(classesSet::add));
+        return Collections.unmodifiableSet(classesSet);
+    }
+
+    /**
+     * scan {@link Class classes} under specified package name or its' sub-packages in {@link ClassLoader}, and push
+     * them to {@link ScanVisitor} one by one, the class names are streamed from the class path entries lazily, thus the
+     * rest of class path entries will not be read if {@link ScanVisitResult#TERMINATE terminated}.
+     *
+     * @param classLoader  {@link ClassLoader}
+     * @param packageName  the name of package
+     * @param recursive    included sub-package
+     * @param requiredLoad try to load those classes or not
+     * @param visitor      {@link ScanVisitor}, the rest classes in the package of visited class and its' sub-packages
+     *                     will not be scanned if it returns {@link ScanVisitResult#SKIP_SUBTREE}
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @throws IllegalArgumentException scanned source is not legal
+     * @throws IllegalStateException    scanned source's state is not valid
+     */
+    public boolean scan(ClassLoader classLoader, String packageName, final boolean recursive, boolean requiredLoad,
+                        ScanVisitor<Class<?>> visitor) throws IllegalArgumentException, IllegalStateException {
+        return doScan(classLoader, packageName, recursive, className -> requiredLoad ?
+                ClassLoaderUtils.loadClass(classLoader, className) :
+                ClassLoaderUtils.findLoadedClass(classLoader, className), visitor);
+    }
+
+    /**
+     * scan {@link Class} set under specified package name or its' sub-packages in {@link ClassLoader}, only the classes
+     * whose class file headers are accepted by {@link ClassFileMetadataFilter} will be loaded, the rest are never
+     * defined in {@link ClassLoader}.
+     *
+     * @param classLoader {@link ClassLoader}
+     * @param packageName the name of package
+     * @param recursive   included sub-package
+     * @param filter      {@link ClassFileMetadataFilter}
+     * @return the read-only set of the accepted classes
+     * @throws IllegalArgumentException scanned source is not legal
+     * @throws IllegalStateException    scanned source's state is not valid
+     */
+    public Set<Class<?>> scan(ClassLoader classLoader, String packageName, boolean recursive,
+                              ClassFileMetadataFilter filter) throws IllegalArgumentException, IllegalStateException {
+        Set<Class<?>> classesSet = new LinkedHashSet();
+        scan(classLoader, packageName, recursive, filter, ScanVisitor.of(classesSet::add));
+        return Collections.unmodifiableSet(classesSet);
+    }
+
+    /**
+     * scan {@link Class classes} under specified package name or its' sub-packages in {@link ClassLoader}, and push
+     * them to {@link ScanVisitor} one by one, only the classes whose class file headers are accepted by
+     * {@link ClassFileMetadataFilter} will be loaded and visited.
+     *
+     * @param classLoader {@link ClassLoader}
+     * @param packageName the name of package
+     * @param recursive   included sub-package
+     * @param filter      {@link ClassFileMetadataFilter}
+     * @param visitor     {@link ScanVisitor}
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @throws IllegalArgumentException scanned source is not legal
+     * @throws IllegalStateException    scanned source's state is not valid
+     * @see ClassFileMetadata
+     */
+    public boolean scan(ClassLoader classLoader, String packageName, boolean recursive, ClassFileMetadataFilter filter,
+                        ScanVisitor<Class<?>> visitor) throws IllegalArgumentException, IllegalStateException {
+        return doScan(classLoader, packageName, recursive, className -> {
+            ClassFileMetadata metadata = readClassFileMetadata(classLoader, className);
+            return metadata != null && filter.accept(metadata) ? ClassLoaderUtils.loadClass(classLoader, className) : null;
+        }, visitor);
+    }
+
+    private ClassFileMetadata readClassFileMetadata(ClassLoader classLoader, String className) {
+        String resourceName = className.replace('.', '/') + FileSuffixConstants.CLASS;
+        try (InputStream inputStream = classLoader.getResourceAsStream(resourceName)) {
+            return inputStream == null ? null : ClassFileMetadata.read(inputStream);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Scan the class names under the package, which are replayed from the cache if present, then resolve them to the
+     * classes by the resolver, thus the cached class names are shared by the different scanning modes
+     */
+    private boolean doScan(ClassLoader classLoader, String packageName, boolean recursive,
+                           Function<String, Class<?>> classResolver, ScanVisitor<Class<?>> visitor) {
 
         final String packageResourceName = ClassLoaderUtils.ResourceType.PACKAGE.resolve(packageName);
+        final ScanKey scanKey = new ScanKey(packageName, recursive);
+        final int version = ClassUtils.getClassPathIndexVersion();
+        List<String> skippedPackageNames = new ArrayList<>();
+
+        String[] cachedClassNames = getCachedClassNames(classLoader, scanKey, version);
+        if (cachedClassNames != null) {
+            return visit(Arrays.asList(cachedClassNames).iterator(), null, null, skippedPackageNames, classResolver, visitor);
+        }
 
         try {
-            Set<String> classNames = new LinkedHashSet();
             // Find in class loader
             Set<URL> resourceURLs = ClassLoaderUtils.getResources(classLoader, ClassLoaderUtils.ResourceType.PACKAGE, packageName);
 
@@ -97,32 +234,161 @@ public class SimpleClassScanner {
                 }
             }
 
+            // The class names are only de-duplicated across the multiple class path entries
+            Set<String> visitedClassNames = resourceURLs.size() > 1 ? new HashSet<>() : null;
+            // The class names will be cached if the scanning is completed
+            List<String> scannedClassNames = cacheSize > 0 ? new ArrayList<>() : null;
+
             for (URL resourceURL : resourceURLs) {
-                URL classPathURL = resolveClassPathURL(resourceURL, packageResourceName);
-                String classPath = classPathURL.getFile();
-                Set<String> classNamesInClassPath = ClassUtils.findClassNamesInClassPath(classPath, true);
-                classNames.addAll(filterClassNames(classNamesInClassPath, packageName, recursive));
+                String classPath = resolveClassPath(resourceURL, packageResourceName);
+                // Only the class names in the package are read from the class path entry
+                try (Stream<String> classNames = ClassUtils.streamClassNamesInPackage(classPath, packageName, recursive)) {
+                    if (!visit(classNames.iterator(), visitedClassNames, scannedClassNames, skippedPackageNames,
+                            classResolver, visitor)) {
+                        return false;
+                    }
+                }
             }
 
-            for (String className : classNames) {
-                Class<?> class_ = requiredLoad ? ClassLoaderUtils.loadClass(classLoader, className) : ClassLoaderUtils.findLoadedClass(classLoader, className);
-                if (class_ != null) {
-                    classesSet.add(class_);
-                }
+            if (scannedClassNames != null) {
+                putCachedClassNames(classLoader, scanKey, new CachedClassNames(version, scannedClassNames));
             }
 
         } catch (IOException e) {
 
         }
-        return Collections.unmodifiableSet(classesSet);
+        return true;
     }
 
-    private Set<String> filterClassNames(Set<String> classNames, String packageName, boolean recursive) {
-        PackageNameClassNameFilter packageNameClassNameFilter = new PackageNameClassNameFilter(packageName, recursive);
-        Set<String> filterClassNames = new LinkedHashSet(FilterUtils.filter(classNames, packageNameClassNameFilter));
-        return filterClassNames;
+    /**
+     * @return <code>false</code> if it was {@link ScanVisitResult#TERMINATE terminated}
+     */
+    private boolean visit(Iterator<String> classNames, Set<String> visitedClassNames, List<String> scannedClassNames,
+                          List<String> skippedPackageNames, Function<String, Class<?>> classResolver,
+                          ScanVisitor<Class<?>> visitor) {
+        while (classNames.hasNext()) {
+            String className = classNames.next();
+            if (visitedClassNames != null && !visitedClassNames.add(className)) {
+                continue;
+            }
+            if (scannedClassNames != null) {
+                scannedClassNames.add(className);
+            }
+            if (isSkipped(className, skippedPackageNames)) {
+                continue;
+            }
+            Class<?> class_ = classResolver.apply(className);
+            if (class_ == null) {
+                continue;
+            }
+            ScanVisitResult result = visitor.visit(class_);
+            if (result == ScanVisitResult.TERMINATE) {
+                return false;
+            } else if (result == ScanVisitResult.SKIP_SUBTREE) {
+                skippedPackageNames.add(ClassUtils.resolvePackageName(className));
+            }
+        }
+        return true;
+    }
+
+    private String[] getCachedClassNames(ClassLoader classLoader, ScanKey scanKey, int version) {
+        if (cacheSize == 0) {
+            return null;
+        }
+        synchronized (cache) {
+            Map<ScanKey, CachedClassNames> cachedResults = cache.get(classLoader);
+            CachedClassNames cachedClassNames = cachedResults == null ? null : cachedResults.get(scanKey);
+            if (cachedClassNames == null) {
+                cacheMisses.increment();
+                return null;
+            }
+            if (cachedClassNames.version != version) { // The class path was changed
+                cachedResults.remove(scanKey);
+                cacheMisses.increment();
+                return null;
+            }
+            cacheHits.increment();
+            return cachedClassNames.classNames;
+        }
+    }
+
+    private void putCachedClassNames(ClassLoader classLoader, ScanKey scanKey, CachedClassNames cachedClassNames) {
+        synchronized (cache) {
+            Map<ScanKey, CachedClassNames> cachedResults = cache.get(classLoader);
+            if (cachedResults == null) {
+                cachedResults = new LinkedHashMap<ScanKey, CachedClassNames>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<ScanKey, CachedClassNames> eldest) {
+                        return size() > cacheSize;
+                    }
+                };
+                cache.put(classLoader, cachedResults);
+            }
+            cachedResults.put(scanKey, cachedClassNames);
+        }
+    }
+
+    /**
+     * Get the statistics of the scan result cache
+     *
+     * @return non-null {@link ClassScanCacheStatistics}
+     */
+    public ClassScanCacheStatistics getCacheStatistics() {
+        return new ClassScanCacheStatistics(cacheHits.sum(), cacheMisses.sum());
+    }
+
+    /**
+     * Invalidate all cached scan results, it must be invoked after the class path is changed at runtime unless {@link
+     * ClassUtils#CLASS_PATH_INDEX_WATCH_PROPERTY_NAME the watcher} is enabled
+     */
+    public void invalidate() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Invalidate the cached scan results of the specified {@link ClassLoader}, it must be invoked after its class path
+     * is changed at runtime unless {@link ClassUtils#CLASS_PATH_INDEX_WATCH_PROPERTY_NAME the watcher} is enabled
+     *
+     * @param classLoader {@link ClassLoader}
+     */
+    public void invalidate(ClassLoader classLoader) {
+        synchronized (cache) {
+            cache.remove(classLoader);
+        }
+    }
+
+    private boolean isSkipped(String className, List<String> skippedPackageNames) {
+        if (skippedPackageNames != null) {
+            String packageName = ClassUtils.resolvePackageName(className);
+            for (String skippedPackageName : skippedPackageNames) {
+                if (packageName.equals(skippedPackageName) || packageName.startsWith(skippedPackageName + ".")) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
+    /**
+     * Resolve the class path of the package resource, e.g :
+     * <ul>
+     * <li>"file:/classes/a/b/" : "/classes"</li>
+     * <li>"jar:file:/a.jar!/a/b/" : "/a.jar"</li>
+     * <li>"jar:file:/app.jar!/BOOT-INF/lib/a.jar!/a/b/" : "/app.jar!/BOOT-INF/lib/a.jar"</li>
+     * </ul>
+     */
+    private String resolveClassPath(URL resourceURL, String packageResourceName) {
+        if (!ProtocolConstants.JAR.equals(resourceURL.getProtocol())) {
+            return resolveClassPathURL(resourceURL, packageResourceName).getFile();
+        }
+        String jarPath = JarUtils.resolveJarAbsolutePath(resourceURL);
+        String classPathResource = StringUtils.substringBefore(resourceURL.toExternalForm(), packageResourceName);
+        classPathResource = StringUtils.removeEnd(classPathResource, SeparatorConstants.ARCHIVE_ENTITY);
+        String nestedEntryName = StringUtils.substringAfter(classPathResource, SeparatorConstants.ARCHIVE_ENTITY);
+        return StringUtils.isEmpty(nestedEntryName) ? jarPath : jarPath + SeparatorConstants.ARCHIVE_ENTITY + nestedEntryName;
+    }
 
     private URL resolveClassPathURL(URL resourceURL, String packageResourceName) {
         String resource = resourceURL.toExternalForm();
@@ -136,5 +402,50 @@ public class SimpleClassScanner {
         return classPathURL;
     }
 
+    /**
+     * The key of scan result, the scanning mode is not included, since the cached class names are resolved on replay
+     */
+    private static class ScanKey {
+
+        private final String packageName;
 
+        private final boolean recursive;
+
+        ScanKey(String packageName, boolean recursive) {
+            this.packageName = packageName;
+            this.recursive = recursive;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ScanKey)) {
+                return false;
+            }
+            ScanKey scanKey = (ScanKey) o;
+            return recursive == scanKey.recursive && packageName.equals(scanKey.packageName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * packageName.hashCode() + (recursive ? 1 : 0);
+        }
+    }
+
+    private static class CachedClassNames {
+
+        /**
+         * The {@link ClassUtils#getClassPathIndexVersion() version of class path index} when it was scanned
+         */
+        private final int version;
+
+        private final String[] classNames;
+
+        CachedClassNames(int version, List<String> classNames) {
+            this.version = version;
+            this.classNames = classNames.toArray(new String[0]);
+        }
+    }
 }
@@ -5,7 +5,16 @@ import org.apache.commons.io.filefilter.TrueFileFilter;
 
 import javax.annotation.Nonnull;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -47,32 +56,114 @@ public class SimpleFileScanner {
      * @param rootDirectory Root directory
      * @param recursive     is recursive on sub directories
      * @param ioFileFilter  {@link IOFileFilter}
-     * @return Read-only {@link Set} , and the order be dependent on {@link File#listFiles()} implementation
+     * @return Read-only {@link Set} in the pre-order of the directory tree, and the order of siblings be dependent on
+     * {@link Files#newDirectoryStream(Path)} implementation
      * @see IOFileFilter
      * @since 1.0.0
      */
     @Nonnull
     public Set<File> scan(File rootDirectory, boolean recursive, IOFileFilter ioFileFilter) {
-
         final Set<File> filesSet = new LinkedHashSet<>();
+        scan(rootDirectory, recursive, ioFileFilter, ScanVisitor.of(filesSet::add));
+        return Collections.unmodifiableSet(filesSet);
+    }
 
+    /**
+     * Scan the {@link File files} that are accepted by {@link IOFileFilter} under root directory, and push them to
+     * {@link ScanVisitor} in the pre-order of the directory tree without collecting them
+     *
+     * @param rootDirectory Root directory
+     * @param recursive     is recursive on sub directories
+     * @param ioFileFilter  {@link IOFileFilter}
+     * @param visitor       {@link ScanVisitor}, the sub files of the directory will not be scanned if it returns
+     *                      {@link ScanVisitResult#SKIP_SUBTREE}
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @see #scan(File, boolean, IOFileFilter)
+     * @since 1.0.0
+     */
+    public boolean scan(File rootDirectory, boolean recursive, IOFileFilter ioFileFilter, ScanVisitor<File> visitor) {
         if (ioFileFilter.accept(rootDirectory)) {
-            filesSet.add(rootDirectory);
+            ScanVisitResult result = visitor.visit(rootDirectory);
+            if (result == ScanVisitResult.TERMINATE) {
+                return false;
+            } else if (result == ScanVisitResult.SKIP_SUBTREE) {
+                return true;
+            }
         }
 
-        File[] subFiles = rootDirectory.listFiles();
-
-        if (subFiles != null) {
-            for (File subFile : subFiles) {
-                if (ioFileFilter.accept(subFile)) {
-                    filesSet.add(subFile);
-                }
-                if (recursive && subFile.isDirectory()) {
-                    filesSet.addAll(this.scan(subFile, recursive, ioFileFilter));
-                }
+        if (rootDirectory.isDirectory()) {
+            VisitingFileVisitor fileVisitor = new VisitingFileVisitor(rootDirectory.toPath(), ioFileFilter, visitor);
+            try {
+                Files.walkFileTree(rootDirectory.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                        recursive ? Integer.MAX_VALUE : 1, fileVisitor);
+            } catch (IOException e) {
+                // The failures of sub-files were ignored by the visitor, as same as File#listFiles() returns null
             }
+            return !fileVisitor.terminated;
         }
-        return Collections.unmodifiableSet(filesSet);
+        return true;
     }
 
+    /**
+     * The {@link FileVisitor} pushes the accepted files to {@link ScanVisitor} in the pre-order, the {@link
+     * BasicFileAttributes} read by the traversal are reused by the {@link File files} passed to {@link IOFileFilter},
+     * thus {@link File#isDirectory()} and {@link File#isFile()} in the filter will not stat them again.
+     */
+    private static class VisitingFileVisitor extends SimpleFileVisitor<Path> {
+
+        private final Path root;
+
+        private final IOFileFilter ioFileFilter;
+
+        private final ScanVisitor<File> visitor;
+
+        private boolean terminated;
+
+        VisitingFileVisitor(Path root, IOFileFilter ioFileFilter, ScanVisitor<File> visitor) {
+            this.root = root;
+            this.ioFileFilter = ioFileFilter;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (!dir.equals(root)) {
+                return visit(dir, attrs);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            return visit(file, attrs);
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            // The broken link or the file loop is regarded as the file without the sub-files
+            if (!file.equals(root)) {
+                return visit(file, null);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        private FileVisitResult visit(Path path, BasicFileAttributes attributes) {
+            boolean accepted = attributes == null ? ioFileFilter.accept(path.toFile()) :
+                    ioFileFilter.accept(new AttributedFile(path.toString(), attributes));
+            if (!accepted) {
+                return FileVisitResult.CONTINUE;
+            }
+            // The attributes are not kept in the result, which may be changed later
+            switch (visitor.visit(path.toFile())) {
+                case SKIP_SUBTREE:
+                    return FileVisitResult.SKIP_SUBTREE;
+                case TERMINATE:
+                    terminated = true;
+                    return FileVisitResult.TERMINATE;
+                default:
+                    return FileVisitResult.CONTINUE;
+            }
+        }
+    }
 }
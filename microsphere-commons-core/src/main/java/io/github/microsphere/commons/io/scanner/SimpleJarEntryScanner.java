@@ -3,20 +3,34 @@
  */
 package io.github.microsphere.commons.io.scanner;
 
-import io.github.microsphere.commons.constants.PathConstants;
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.constants.ProtocolConstants;
+import io.github.microsphere.commons.constants.SeparatorConstants;
+import io.github.microsphere.commons.filter.ClassFileJarEntryFilter;
 import io.github.microsphere.commons.filter.JarEntryFilter;
+import io.github.microsphere.commons.util.jar.JarClassIndex;
+import io.github.microsphere.commons.util.jar.JarEntryIndex;
+import io.github.microsphere.commons.util.jar.JarFileCache;
 import io.github.microsphere.commons.util.jar.JarUtils;
+import io.github.microsphere.commons.util.jar.NestedArchive;
+import io.github.microsphere.commons.util.jar.ZipCentralDirectory;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
 
 /**
  * Simple {@link JarEntry} Scanner
@@ -32,6 +46,11 @@ public class SimpleJarEntryScanner {
      */
     public static final SimpleJarEntryScanner INSTANCE = new SimpleJarEntryScanner();
 
+    /**
+     * The size of buffer reading the jar archive stream
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     public SimpleJarEntryScanner() {
     }
 
@@ -46,7 +65,7 @@ public class SimpleJarEntryScanner {
      * @throws IllegalArgumentException
      *         <ul> <li>{@link JarUtils#resolveRelativePath(URL)}
      * @throws IOException
-     *         <ul> <li>{@link JarUtils#toJarFile(URL)}
+     *         <ul> <li>{@link JarUtils#acquireJarFile(URL)}
      * @since 1.0.0
      */
     @Nonnull
@@ -67,15 +86,15 @@ public class SimpleJarEntryScanner {
      * @throws IllegalArgumentException
      *         {@link JarUtils#resolveJarAbsolutePath(URL)}
      * @throws IOException
-     *         {@link JarUtils#toJarFile(URL)}
+     *         {@link JarUtils#acquireJarFile(URL)}
      * @see JarEntryFilter
      * @since 1.0.0
      */
     @Nonnull
     public Set<JarEntry> scan(URL jarURL, final boolean recursive, JarEntryFilter jarEntryFilter) throws NullPointerException, IllegalArgumentException, IOException {
-        String relativePath = JarUtils.resolveRelativePath(jarURL);
-        JarFile jarFile = JarUtils.toJarFile(jarURL);
-        return scan(jarFile, relativePath, recursive, jarEntryFilter);
+        Set<JarEntry> jarEntriesSet = new LinkedHashSet<>();
+        scan(jarURL, recursive, jarEntryFilter, ScanVisitor.of(jarEntriesSet::add));
+        return Collections.unmodifiableSet(jarEntriesSet);
     }
 
 
@@ -104,30 +123,289 @@ public class SimpleJarEntryScanner {
         return scan(jarFile, StringUtils.EMPTY, recursive, jarEntryFilter);
     }
 
+    /**
+     * Scan the {@link JarEntry jar entries} under the relative path of {@link URL}, and push them to {@link
+     * ScanVisitor} without collecting them. The jar archive which is not on the file system, e.g
+     * "jar:http://host/a.jar!/a/" or "memory:/a.jar" from the custom {@link java.net.URLStreamHandler}, is scanned by
+     * {@link #scan(JarInputStream, String, boolean, JarEntryFilter, ScanVisitor) the stream} in a single pass
+     *
+     * @param jarURL
+     *         {@link URL} of {@link JarFile} or {@link JarEntry}
+     * @param recursive
+     *         recursive
+     * @param jarEntryFilter
+     *         {@link JarEntryFilter}
+     * @param visitor
+     *         {@link ScanVisitor}, the entries under the directory entry will not be scanned if it returns {@link
+     *         ScanVisitResult#SKIP_SUBTREE}
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @throws NullPointerException
+     *         If argument <code>null</code>
+     * @throws IllegalArgumentException
+     *         {@link JarUtils#resolveJarAbsolutePath(URL)}
+     * @throws IOException
+     *         {@link JarUtils#acquireJarFile(URL)}
+     * @since 1.0.0
+     */
+    public boolean scan(URL jarURL, final boolean recursive, JarEntryFilter jarEntryFilter, ScanVisitor<JarEntry> visitor)
+            throws NullPointerException, IllegalArgumentException, IOException {
+        URL archiveURL = resolveStreamingArchiveURL(jarURL);
+        if (archiveURL != null) { // e.g "jar:http://host/a.jar!/a/" or "memory:/a.jar"
+            String relativePath = archiveURL == jarURL ? StringUtils.EMPTY : JarUtils.resolveRelativePath(jarURL);
+            try (JarInputStream jarInputStream = new JarInputStream(new BufferedInputStream(archiveURL.openStream(), BUFFER_SIZE))) {
+                return scan(jarInputStream, relativePath, recursive, jarEntryFilter, visitor);
+            }
+        }
+        String relativePath = JarUtils.resolveRelativePath(jarURL);
+        int nestedIndex = relativePath.indexOf(SeparatorConstants.ARCHIVE_ENTITY);
+        if (nestedIndex > -1) { // The nested jar, e.g "jar:file:/app.jar!/BOOT-INF/lib/a.jar!/a/"
+            String jarAbsolutePath = JarUtils.resolveJarAbsolutePath(jarURL);
+            if (jarAbsolutePath == null) {
+                throw new IOException("The jar file can't be resolved from " + jarURL);
+            }
+            try (NestedArchive nestedArchive = NestedArchive.open(new File(jarAbsolutePath), relativePath.substring(0, nestedIndex))) {
+                return scan(nestedArchive, relativePath.substring(nestedIndex + SeparatorConstants.ARCHIVE_ENTITY.length()),
+                        recursive, jarEntryFilter, visitor);
+            }
+        }
+        if (JarUtils.resolveJarAbsolutePath(jarURL) == null) { // The jar file is absent, thus nothing is scanned
+            return true;
+        }
+        try (JarFileCache.Lease lease = JarUtils.acquireJarFile(jarURL)) {
+            return scan(lease.getJarFile(), relativePath, recursive, jarEntryFilter, visitor);
+        }
+    }
+
+    /**
+     * Scan the {@link JarEntry jar entries} under the relative path of the jar archive in a single pass over the stream,
+     * e.g the in-memory archive or the one from the custom {@link java.net.URLStreamHandler}, which is never spilled to
+     * the temporary file. The nested jars in the relative path, e.g "BOOT-INF/lib/a.jar!/a/", are streamed in place.
+     * <p/>
+     * The entries are pushed to {@link ScanVisitor} in the order of the stream, and the stream is positioned at the
+     * content of current entry during {@link ScanVisitor#visit(Object) visiting}, thus the visitor could read it from
+     * the {@link JarInputStream} unless the relative path is nested. The sizes and CRC-32 of the compressed entries are unknown until their contents are
+     * read, and the leading manifest is available by {@link JarInputStream#getManifest()} rather than being visited.
+     *
+     * @param jarInputStream
+     *         {@link JarInputStream}, which will not be closed
+     * @param relativePath
+     *         the relative path of entries, e.g "a/b/", all entries will be scanned if empty
+     * @param recursive
+     *         recursive
+     * @param jarEntryFilter
+     *         {@link JarEntryFilter}
+     * @param visitor
+     *         {@link ScanVisitor}, the entries under the directory entry will not be scanned if it returns {@link
+     *         ScanVisitResult#SKIP_SUBTREE}
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @throws IOException
+     *         If the stream can't be read, or the nested jar in the relative path is absent
+     * @since 1.0.0
+     */
+    public boolean scan(JarInputStream jarInputStream, String relativePath, final boolean recursive,
+                        JarEntryFilter jarEntryFilter, ScanVisitor<JarEntry> visitor) throws IOException {
+        int nestedIndex = relativePath.indexOf(SeparatorConstants.ARCHIVE_ENTITY);
+        if (nestedIndex > -1) {
+            String nestedEntryName = relativePath.substring(0, nestedIndex);
+            JarEntry jarEntry;
+            while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+                if (nestedEntryName.equals(jarEntry.getName())) {
+                    // The nested stream must not be closed, which would close the outer one
+                    JarInputStream nestedJarInputStream = new JarInputStream(jarInputStream);
+                    return scan(nestedJarInputStream, relativePath.substring(nestedIndex + SeparatorConstants.ARCHIVE_ENTITY.length()),
+                            recursive, jarEntryFilter, visitor);
+                }
+            }
+            throw new IOException("The nested jar[" + nestedEntryName + "] is absent in the stream");
+        }
+        List<String> skippedDirectoryNames = null;
+        JarEntry jarEntry;
+        while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+            String jarEntryName = jarEntry.getName();
+            if (!jarEntryName.startsWith(relativePath)
+                    || (!recursive && jarEntryName.indexOf('/', relativePath.length()) > -1)) {
+                continue;
+            }
+            if (isSkipped(jarEntryName, skippedDirectoryNames) || (jarEntryFilter != null && !jarEntryFilter.accept(jarEntry))) {
+                continue;
+            }
+            ScanVisitResult result = visitor.visit(jarEntry);
+            if (result == ScanVisitResult.TERMINATE) {
+                return false;
+            } else if (result == ScanVisitResult.SKIP_SUBTREE && jarEntry.isDirectory()) {
+                if (skippedDirectoryNames == null) {
+                    skippedDirectoryNames = new ArrayList<>();
+                }
+                skippedDirectoryNames.add(jarEntryName);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scan the {@link JarEntry jar entries} of {@link JarFile}, and push them to {@link ScanVisitor} in the order of
+     * entries without collecting them
+     *
+     * @param jarFile
+     *         {@link JarFile}
+     * @param recursive
+     *         recursive
+     * @param jarEntryFilter
+     *         {@link JarEntryFilter}
+     * @param visitor
+     *         {@link ScanVisitor}, the entries under the directory entry will not be scanned if it returns {@link
+     *         ScanVisitResult#SKIP_SUBTREE}
+     * @return <code>true</code> if scanning was completed, or <code>false</code> if it was {@link
+     * ScanVisitResult#TERMINATE terminated} by {@link ScanVisitor}
+     * @throws IOException
+     *         If the class index can't be read
+     * @since 1.0.0
+     */
+    public boolean scan(JarFile jarFile, final boolean recursive, JarEntryFilter jarEntryFilter, ScanVisitor<JarEntry> visitor)
+            throws NullPointerException, IllegalArgumentException, IOException {
+        return scan(jarFile, StringUtils.EMPTY, recursive, jarEntryFilter, visitor);
+    }
+
     protected Set<JarEntry> scan(JarFile jarFile, String relativePath, final boolean recursive, JarEntryFilter jarEntryFilter) throws NullPointerException, IllegalArgumentException, IOException {
         Set<JarEntry> jarEntriesSet = new LinkedHashSet<>();
-        List<JarEntry> jarEntriesList = JarUtils.filter(jarFile, jarEntryFilter);
+        scan(jarFile, relativePath, recursive, jarEntryFilter, ScanVisitor.of(jarEntriesSet::add));
+        return Collections.unmodifiableSet(jarEntriesSet);
+    }
 
-        for (JarEntry jarEntry : jarEntriesList) {
+    protected boolean scan(JarFile jarFile, String relativePath, final boolean recursive, JarEntryFilter jarEntryFilter,
+                           ScanVisitor<JarEntry> visitor) throws NullPointerException, IllegalArgumentException, IOException {
+        if (jarEntryFilter instanceof ClassFileJarEntryFilter) {
+            JarClassIndex classIndex = JarClassIndex.read(jarFile);
+            if (classIndex != null) {
+                return scan(jarFile, classIndex, relativePath, recursive, jarEntryFilter, visitor);
+            }
+        }
+        if (!recursive || StringUtils.isNotEmpty(relativePath)) {
+            return scan(jarFile, JarEntryIndex.get(jarFile), relativePath, recursive, jarEntryFilter, visitor);
+        }
+        // All entries are enumerated in order, which is cheaper than building the index
+        // The names of the directory entries whose sub-entries were skipped
+        List<String> skippedDirectoryNames = null;
+        Enumeration<JarEntry> jarEntries = jarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+            JarEntry jarEntry = jarEntries.nextElement();
             String jarEntryName = jarEntry.getName();
+            if (isSkipped(jarEntryName, skippedDirectoryNames) || (jarEntryFilter != null && !jarEntryFilter.accept(jarEntry))) {
+                continue;
+            }
+            ScanVisitResult result = visitor.visit(jarEntry);
+            if (result == ScanVisitResult.TERMINATE) {
+                return false;
+            } else if (result == ScanVisitResult.SKIP_SUBTREE && jarEntry.isDirectory()) {
+                if (skippedDirectoryNames == null) {
+                    skippedDirectoryNames = new ArrayList<>();
+                }
+                skippedDirectoryNames.add(jarEntryName);
+            }
+        }
+        return true;
+    }
 
-            boolean accept = false;
-            if (recursive) {
-                accept = jarEntryName.startsWith(relativePath);
-            } else {
-                if (jarEntry.isDirectory()) {
-                    accept = jarEntryName.equals(relativePath);
-                } else {
-                    int beginIndex = jarEntryName.indexOf(relativePath);
-                    if (beginIndex == 0) {
-                        accept = jarEntryName.indexOf(PathConstants.SLASH, relativePath.length()) < 0;
-                    }
+    /**
+     * Scan the entries under the relative path by the range lookups on the sorted {@link JarEntryIndex}, the entries
+     * are visited in the order of their names
+     */
+    private boolean scan(JarFile jarFile, JarEntryIndex jarEntryIndex, String relativePath, final boolean recursive,
+                         JarEntryFilter jarEntryFilter, ScanVisitor<JarEntry> visitor) {
+        // The sub-entries of the skipped directory entry are contiguous after it
+        String skippedDirectoryName = null;
+        for (String jarEntryName : jarEntryIndex.getEntryNames(relativePath, recursive)) {
+            if (skippedDirectoryName != null && jarEntryName.startsWith(skippedDirectoryName)) {
+                continue;
+            }
+            JarEntry jarEntry = jarFile.getJarEntry(jarEntryName);
+            if (jarEntry == null || (jarEntryFilter != null && !jarEntryFilter.accept(jarEntry))) {
+                continue;
+            }
+            ScanVisitResult result = visitor.visit(jarEntry);
+            if (result == ScanVisitResult.TERMINATE) {
+                return false;
+            } else if (result == ScanVisitResult.SKIP_SUBTREE && jarEntry.isDirectory()) {
+                skippedDirectoryName = jarEntryName;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scan the entries of the STORED nested jar by its central directory in place, the entries are visited in the order
+     * of central directory
+     */
+    private boolean scan(NestedArchive nestedArchive, String relativePath, final boolean recursive,
+                         JarEntryFilter jarEntryFilter, ScanVisitor<JarEntry> visitor) {
+        List<String> skippedDirectoryNames = null;
+        ZipCentralDirectory.Cursor cursor = nestedArchive.getCentralDirectory().cursor();
+        while (cursor.next()) {
+            if (!cursor.nameStartsWith(relativePath)
+                    || (!recursive && cursor.nameIndexOf('/', relativePath.length()) > -1)) {
+                continue;
+            }
+            JarEntry jarEntry = NestedArchive.toJarEntry(cursor);
+            String jarEntryName = jarEntry.getName();
+            if (isSkipped(jarEntryName, skippedDirectoryNames) || (jarEntryFilter != null && !jarEntryFilter.accept(jarEntry))) {
+                continue;
+            }
+            ScanVisitResult result = visitor.visit(jarEntry);
+            if (result == ScanVisitResult.TERMINATE) {
+                return false;
+            } else if (result == ScanVisitResult.SKIP_SUBTREE && jarEntry.isDirectory()) {
+                if (skippedDirectoryNames == null) {
+                    skippedDirectoryNames = new ArrayList<>();
                 }
+                skippedDirectoryNames.add(jarEntryName);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scan the class file entries by the {@link JarClassIndex} generated at build time without enumerating all entries
+     */
+    private boolean scan(JarFile jarFile, JarClassIndex classIndex, String relativePath, final boolean recursive,
+                         JarEntryFilter jarEntryFilter, ScanVisitor<JarEntry> visitor) {
+        for (String className : classIndex.getClassNames(relativePath, recursive)) {
+            JarEntry jarEntry = jarFile.getJarEntry(JarClassIndex.toResourceName(className));
+            if (jarEntry != null && jarEntryFilter.accept(jarEntry)
+                    && visitor.visit(jarEntry) == ScanVisitResult.TERMINATE) {
+                return false;
             }
-            if (accept) {
-                jarEntriesSet.add(jarEntry);
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the {@link URL} of jar archive which is not on the file system, and will be scanned by the stream
+     *
+     * @return the archive {@link URL}, e.g "http://host/a.jar" from "jar:http://host/a.jar!/a/", or the argument
+     * itself if it's the jar archive from the custom {@link java.net.URLStreamHandler}, e.g "memory:/a.jar",
+     * otherwise <code>null</code>
+     */
+    private URL resolveStreamingArchiveURL(URL jarURL) throws MalformedURLException {
+        String protocol = jarURL.getProtocol();
+        if (ProtocolConstants.FILE.equals(protocol)) {
+            return null;
+        } else if (ProtocolConstants.JAR.equals(protocol)) {
+            URL archiveURL = new URL(StringUtils.substringBefore(jarURL.getFile(), SeparatorConstants.ARCHIVE_ENTITY));
+            return ProtocolConstants.FILE.equals(archiveURL.getProtocol()) ? null : archiveURL;
+        }
+        return StringUtils.endsWith(jarURL.getPath(), FileSuffixConstants.JAR) ? jarURL : null;
+    }
+
+    private boolean isSkipped(String jarEntryName, List<String> skippedDirectoryNames) {
+        if (skippedDirectoryNames != null) {
+            for (String skippedDirectoryName : skippedDirectoryNames) {
+                if (jarEntryName.startsWith(skippedDirectoryName)) {
+                    return true;
+                }
             }
         }
-        return Collections.unmodifiableSet(jarEntriesSet);
+        return false;
     }
 }
@@ -7,6 +7,7 @@ import io.github.microsphere.commons.constants.Constants;
 import io.github.microsphere.commons.constants.PathConstants;
 import io.github.microsphere.commons.constants.ProtocolConstants;
 import io.github.microsphere.commons.constants.SeparatorConstants;
+import io.github.microsphere.commons.util.jar.JarFileCache;
 import io.github.microsphere.commons.util.jar.JarUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -18,7 +19,6 @@ import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.*;
 import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 
 /**
  * {@link URL} Utility class
@@ -127,7 +127,7 @@ public abstract class URLUtils {
      *
      * @param path
      *         Path
-     * @return a newly resolved path
+     * @return the resolved path, or the path itself if it's resolved already
      * @version 1.0.0
      * @since 1.0.0
      */
@@ -137,16 +137,97 @@ public abstract class URLUtils {
             return path;
         }
 
-        String resolvedPath = path.trim();
+        int start = trimStart(path);
+        int end = trimEnd(path, start);
+        int index = indexOfUnresolvedSlash(path, start, end);
+        if (index < 0) { // The same instance will be returned if it's not trimmed
+            return path.substring(start, end);
+        }
+        StringBuilder pathBuilder = new StringBuilder(end - start).append(path, start, index);
+        appendResolvedPath(path, index, end, pathBuilder);
+        return pathBuilder.toString();
+    }
+
+    /**
+     * Normalize Path(maybe from File or URL) into the specified {@link StringBuilder} as {@link #resolvePath(String)},
+     * thus no intermediate {@link String} is created
+     *
+     * @param path
+     *         Path
+     * @param pathBuilder
+     *         the {@link StringBuilder} which the resolved path is appended to
+     * @return the argument <code>pathBuilder</code>
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static StringBuilder resolvePath(final CharSequence path, StringBuilder pathBuilder) {
+        if (StringUtils.isBlank(path)) {
+            return path == null ? pathBuilder : pathBuilder.append(path);
+        }
+        int start = trimStart(path);
+        appendResolvedPath(path, start, trimEnd(path, start), pathBuilder);
+        return pathBuilder;
+    }
+
+    /**
+     * @return the index of the first character which is not trimmed as {@link String#trim()}
+     */
+    private static int trimStart(CharSequence path) {
+        int start = 0;
+        int length = path.length();
+        while (start < length && path.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
 
-        while (resolvedPath.contains(PathConstants.BACK_SLASH)) {
-            resolvedPath = StringUtils.replace(resolvedPath, PathConstants.BACK_SLASH, PathConstants.SLASH);
+    /**
+     * @return the index after the last character which is not trimmed as {@link String#trim()}
+     */
+    private static int trimEnd(CharSequence path, int start) {
+        int end = path.length();
+        while (end > start && path.charAt(end - 1) <= ' ') {
+            end--;
         }
+        return end;
+    }
 
-        while (resolvedPath.contains(PathConstants.DOUBLE_SLASH)) {
-            resolvedPath = StringUtils.replace(resolvedPath, PathConstants.DOUBLE_SLASH, PathConstants.SLASH);
+    /**
+     * @return the index of the first backslash, or the first slash followed by the slash or backslash, or
+     * <code>-1</code> if the path is resolved already
+     */
+    private static int indexOfUnresolvedSlash(CharSequence path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c == '\\') {
+                return i;
+            }
+            if (c == '/' && i + 1 < end) {
+                char next = path.charAt(i + 1);
+                if (next == '/' || next == '\\') {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Append the path in the range, the backslashes are replaced by the slashes, and the duplicated slashes are
+     * collapsed, the character before the start must not be the slash or backslash
+     */
+    private static void appendResolvedPath(CharSequence path, int start, int end, StringBuilder pathBuilder) {
+        char previous = 0;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c == '\\') {
+                c = '/';
+            }
+            if (c != '/' || previous != '/') {
+                pathBuilder.append(c);
+            }
+            previous = c;
         }
-        return resolvedPath;
     }
 
     /**
@@ -239,13 +320,14 @@ public abstract class URLUtils {
             String protocol = url.getProtocol();
             try {
                 if (ProtocolConstants.JAR.equals(protocol)) {
-                    JarFile jarFile = JarUtils.toJarFile(url); // Test whether valid jar or not
-                    final String relativePath = JarUtils.resolveRelativePath(url);
-                    if (StringUtils.EMPTY.equals(relativePath)) { // root directory in jar
-                        isDirectory = true;
-                    } else {
-                        JarEntry jarEntry = jarFile.getJarEntry(relativePath);
-                        isDirectory = jarEntry != null && jarEntry.isDirectory();
+                    try (JarFileCache.Lease lease = JarUtils.acquireJarFile(url)) { // Test whether valid jar or not
+                        final String relativePath = JarUtils.resolveRelativePath(url);
+                        if (StringUtils.EMPTY.equals(relativePath)) { // root directory in jar
+                            isDirectory = true;
+                        } else {
+                            JarEntry jarEntry = lease.getJarFile().getJarEntry(relativePath);
+                            isDirectory = jarEntry != null && jarEntry.isDirectory();
+                        }
                     }
                 } else if (ProtocolConstants.FILE.equals(protocol)) {
                     File classPathFile = new File(url.toURI());
@@ -271,8 +353,8 @@ public abstract class URLUtils {
         if (ProtocolConstants.FILE.equals(protocol)) {
             try {
                 File file = new File(url.toURI());
-                JarFile jarFile = new JarFile(file);
-                flag = jarFile != null;
+                JarUtils.acquireJarFile(file).close(); // Test whether valid jar or not
+                flag = true;
             } catch (Exception e) {
             }
         } else if (ProtocolConstants.JAR.equals(protocol)) {
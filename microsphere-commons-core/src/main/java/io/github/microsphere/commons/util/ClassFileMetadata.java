@@ -0,0 +1,394 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import org.apache.commons.io.IOUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The metadata of class which is parsed from the header of class file without class loading, thus the static
+ * initializers are not triggered and no metaspace is consumed. Only the constant pool, the access flags, the super
+ * class, the interfaces and the runtime-visible annotations of class are read, the fields and methods are skipped.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see io.github.microsphere.commons.filter.ClassFileMetadataFilter
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html">The class File Format</a>
+ * @since 1.0.0
+ */
+public class ClassFileMetadata {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    private static final int ACC_ENUM = 0x4000;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private final String className;
+
+    private final int accessFlags;
+
+    private final String superClassName;
+
+    private final List<String> interfaceNames;
+
+    private final List<String> annotationNames;
+
+    ClassFileMetadata(String className, int accessFlags, String superClassName, List<String> interfaceNames,
+                              List<String> annotationNames) {
+        this.className = className;
+        this.accessFlags = accessFlags;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.annotationNames = annotationNames;
+    }
+
+    /**
+     * Read the {@link ClassFileMetadata} from the content of class file
+     *
+     * @param inputStream the {@link InputStream} of class file, which will not be closed
+     * @return non-null
+     * @throws IOException If the class file can't be read or is malformed
+     */
+    @Nonnull
+    public static ClassFileMetadata read(InputStream inputStream) throws IOException {
+        return read(IOUtils.toByteArray(inputStream));
+    }
+
+    /**
+     * Read the {@link ClassFileMetadata} from the bytes of class file
+     *
+     * @param bytes the bytes of class file
+     * @return non-null
+     * @throws IOException If the class file is malformed
+     */
+    @Nonnull
+    public static ClassFileMetadata read(byte[] bytes) throws IOException {
+        try {
+            return new Parser(bytes).parse();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("The class file is truncated", e);
+        }
+    }
+
+    /**
+     * @return the name of class, e.g "java.lang.String"
+     */
+    @Nonnull
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the access flags of class, see {@link Modifier}
+     */
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /**
+     * @return the name of super class, or <code>null</code> if it's {@link Object} or module-info
+     */
+    @Nullable
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * @return the read-only names of the interfaces implemented directly
+     */
+    @Nonnull
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * @return the read-only names of the runtime-visible annotations on the class directly
+     */
+    @Nonnull
+    public List<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    public boolean isPublic() {
+        return Modifier.isPublic(accessFlags);
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(accessFlags);
+    }
+
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (accessFlags & ACC_ENUM) != 0;
+    }
+
+    /**
+     * @return <code>true</code> if it's neither an interface nor an abstract class
+     */
+    public boolean isConcrete() {
+        return !isInterface() && !isAbstract();
+    }
+
+    /**
+     * @param annotationName the name of annotation
+     * @return <code>true</code> if the class is annotated by the annotation directly
+     */
+    public boolean hasAnnotation(String annotationName) {
+        return annotationNames.contains(annotationName);
+    }
+
+    /**
+     * @param interfaceName the name of interface
+     * @return <code>true</code> if the class implements the interface directly
+     */
+    public boolean hasInterface(String interfaceName) {
+        return interfaceNames.contains(interfaceName);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFileMetadata{" +
+                "className='" + className + '\'' +
+                ", accessFlags=" + accessFlags +
+                ", superClassName='" + superClassName + '\'' +
+                ", interfaceNames=" + interfaceNames +
+                ", annotationNames=" + annotationNames +
+                '}';
+    }
+
+    /**
+     * The parser of class file, the constant pool entries are only located by their offsets, and the UTF-8 entries
+     * are decoded on demand
+     */
+    private static class Parser {
+
+        private final byte[] bytes;
+
+        /**
+         * The offsets of constant pool entries, which point to the bytes after their tags
+         */
+        private int[] offsets;
+
+        private int position;
+
+        Parser(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        ClassFileMetadata parse() throws IOException {
+            if (readInt() != MAGIC) {
+                throw new IOException("The magic number of class file is invalid");
+            }
+            position += 4; // minor_version and major_version
+            readConstantPool();
+            int accessFlags = readUnsignedShort();
+            String className = readClassName(readUnsignedShort());
+            String superClassName = readClassName(readUnsignedShort());
+            int interfacesCount = readUnsignedShort();
+            String[] interfaceNames = new String[interfacesCount];
+            for (int i = 0; i < interfacesCount; i++) {
+                interfaceNames[i] = readClassName(readUnsignedShort());
+            }
+            skipMembers(); // fields
+            skipMembers(); // methods
+            List<String> annotationNames = Collections.emptyList();
+            int attributesCount = readUnsignedShort();
+            for (int i = 0; i < attributesCount; i++) {
+                String attributeName = readUtf8(readUnsignedShort());
+                int length = readInt();
+                int end = position + length;
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    annotationNames = readAnnotationNames();
+                }
+                position = end;
+            }
+            return new ClassFileMetadata(className, accessFlags, superClassName,
+                    interfacesCount == 0 ? Collections.<String>emptyList() : Collections.unmodifiableList(Arrays.asList(interfaceNames)),
+                    annotationNames);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = readUnsignedShort();
+            offsets = new int[count];
+            for (int i = 1; i < count; i++) {
+                int tag = bytes[position++] & 0xFF;
+                offsets[i] = position;
+                switch (tag) {
+                    case 1: // Utf8
+                        position += 2 + readUnsignedShort(position);
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        position += 2;
+                        break;
+                    case 15: // MethodHandle
+                        position += 3;
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        position += 4;
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        position += 8;
+                        i++; // takes two entries
+                        break;
+                    default:
+                        throw new IOException("The tag of constant pool is invalid : " + tag);
+                }
+            }
+        }
+
+        private void skipMembers() {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                position += 6; // access_flags, name_index and descriptor_index
+                skipAttributes();
+            }
+        }
+
+        private void skipAttributes() {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                position += 2; // attribute_name_index
+                int length = readInt();
+                position += length;
+            }
+        }
+
+        private List<String> readAnnotationNames() throws IOException {
+            int count = readUnsignedShort();
+            List<String> annotationNames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                annotationNames.add(toClassName(readUtf8(readUnsignedShort()), true));
+                skipElementValuePairs();
+            }
+            return Collections.unmodifiableList(annotationNames);
+        }
+
+        private void skipElementValuePairs() throws IOException {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                position += 2; // element_name_index
+                skipElementValue();
+            }
+        }
+
+        private void skipElementValue() throws IOException {
+            int tag = bytes[position++] & 0xFF;
+            switch (tag) {
+                case 'B':
+                case 'C':
+                case 'D':
+                case 'F':
+                case 'I':
+                case 'J':
+                case 'S':
+                case 'Z':
+                case 's':
+                case 'c':
+                    position += 2;
+                    break;
+                case 'e':
+                    position += 4;
+                    break;
+                case '@':
+                    position += 2; // type_index
+                    skipElementValuePairs();
+                    break;
+                case '[':
+                    int count = readUnsignedShort();
+                    for (int i = 0; i < count; i++) {
+                        skipElementValue();
+                    }
+                    break;
+                default:
+                    throw new IOException("The tag of element value is invalid : " + (char) tag);
+            }
+        }
+
+        private String readClassName(int classIndex) throws IOException {
+            if (classIndex == 0) {
+                return null;
+            }
+            return toClassName(readUtf8(readUnsignedShort(offsets[classIndex])), false);
+        }
+
+        private String readUtf8(int utf8Index) throws IOException {
+            int offset = offsets[utf8Index];
+            int length = readUnsignedShort(offset);
+            int start = offset + 2;
+            for (int i = start; i < start + length; i++) {
+                if (bytes[i] < 0) { // Not ASCII, decoded as the modified UTF-8
+                    return new DataInputStream(new ByteArrayInputStream(bytes, offset, length + 2)).readUTF();
+                }
+            }
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) bytes[start + i];
+            }
+            return new String(chars);
+        }
+
+        /**
+         * @param name       the internal name, e.g "java/lang/String", or the descriptor, e.g "Ljava/lang/String;"
+         * @param descriptor is descriptor or not
+         * @return the class name, e.g "java.lang.String"
+         */
+        private static String toClassName(String name, boolean descriptor) {
+            if (descriptor && name.length() > 1 && name.charAt(0) == 'L' && name.charAt(name.length() - 1) == ';') {
+                name = name.substring(1, name.length() - 1);
+            }
+            return name.replace('/', '.');
+        }
+
+        private int readUnsignedShort() {
+            int value = readUnsignedShort(position);
+            position += 2;
+            return value;
+        }
+
+        private int readUnsignedShort(int offset) {
+            return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+        }
+
+        private int readInt() {
+            int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                    | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            position += 4;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.util.jar.JarFileCache;
+import io.github.microsphere.commons.util.jar.JarUtils;
+import io.github.microsphere.commons.util.jar.NestedArchive;
+import io.github.microsphere.commons.util.jar.ZipCentralDirectory;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * The index of the annotations and the super types of classes in the class path entries, which is built from the
+ * {@link ClassFileMetadata class file headers} without class loading, thus the questions like "which classes are
+ * annotated with X" and "which classes implement Y" are answered by the map lookups rather than the full scans.
+ * <p/>
+ * The {@link ClassFileMetadata metadata} of the jar files will be persisted under the cache directory if present, each
+ * jar file is stored in one binary file, which is valid until the size or the last modified time of jar file was
+ * changed. The directories are always read, since their class files may be changed without touching the directories.
+ * <p/>
+ * The class which is present in the multiple class path entries is indexed from the first one, as the class loading
+ * does.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassFileMetadata
+ * @see #getClassPathIndex()
+ * @since 1.0.0
+ */
+public class ClassMetadataIndex {
+
+    /**
+     * The magic number : "MSCM"
+     */
+    private static final int MAGIC = 0x4D53434D;
+
+    private static final int VERSION = 1;
+
+    /**
+     * The extension of cache file
+     */
+    public static final String CACHE_FILE_EXTENSION = ".cmi";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassMetadataIndex.class);
+
+    private final Map<String, ClassFileMetadata> classNameToMetadata;
+
+    private final Map<String, Set<String>> annotationNameToClassNames = new HashMap<>();
+
+    private final Map<String, Set<String>> typeNameToSubtypeNames = new HashMap<>();
+
+    private ClassMetadataIndex(Map<String, ClassFileMetadata> classNameToMetadata) {
+        this.classNameToMetadata = classNameToMetadata;
+        for (ClassFileMetadata metadata : classNameToMetadata.values()) {
+            String className = metadata.getClassName();
+            for (String annotationName : metadata.getAnnotationNames()) {
+                addIndex(annotationNameToClassNames, annotationName, className);
+            }
+            String superClassName = metadata.getSuperClassName();
+            if (superClassName != null) {
+                addIndex(typeNameToSubtypeNames, superClassName, className);
+            }
+            for (String interfaceName : metadata.getInterfaceNames()) {
+                addIndex(typeNameToSubtypeNames, interfaceName, className);
+            }
+        }
+    }
+
+    private static void addIndex(Map<String, Set<String>> index, String key, String className) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(className);
+    }
+
+    /**
+     * Get the index of {@link ClassPathUtils#getClassPaths() the class paths} and {@link
+     * ClassPathUtils#getNestedClassPaths() the nested class paths}, which is built at the first time, and
+     * is persisted under {@link ClassUtils#CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME the cache directory} if
+     * present
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public static ClassMetadataIndex getClassPathIndex() {
+        return ClassPathIndexHolder.INSTANCE;
+    }
+
+    /**
+     * Build the index of the specified class path entries
+     *
+     * @param classPaths     the class path entries, the jar files, the directories or the {@link NestedArchive nested
+     *                       class paths}
+     * @param cacheDirectory the directory of cache files, or <code>null</code> if the index is not persisted
+     * @return non-null
+     */
+    @Nonnull
+    public static ClassMetadataIndex build(Collection<String> classPaths, @Nullable File cacheDirectory) {
+        Map<String, ClassFileMetadata> classNameToMetadata = new HashMap<>();
+        for (String classPath : classPaths) {
+            for (ClassFileMetadata metadata : readClassPath(classPath, cacheDirectory)) {
+                classNameToMetadata.putIfAbsent(metadata.getClassName(), metadata);
+            }
+        }
+        return new ClassMetadataIndex(classNameToMetadata);
+    }
+
+    /**
+     * Get the {@link ClassFileMetadata} of the specified class
+     *
+     * @param className the name of class
+     * @return <code>null</code> if the class is absent
+     */
+    @Nullable
+    public ClassFileMetadata getMetadata(String className) {
+        return classNameToMetadata.get(className);
+    }
+
+    /**
+     * Get the names of classes which are annotated by the specified annotation directly
+     *
+     * @param annotationName the name of annotation
+     * @return non-null read-only {@link Set}
+     */
+    @Nonnull
+    public Set<String> getAnnotatedClassNames(String annotationName) {
+        Set<String> classNames = annotationNameToClassNames.get(annotationName);
+        return classNames == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(classNames);
+    }
+
+    /**
+     * Get the names of classes which extend or implement the specified type
+     *
+     * @param typeName   the name of class or interface
+     * @param transitive <code>false</code> means the direct subtypes only, or all subtypes in the hierarchy, e.g the
+     *                   implementations of the sub-interfaces
+     * @return non-null read-only {@link Set}
+     */
+    @Nonnull
+    public Set<String> getSubtypeNames(String typeName, boolean transitive) {
+        Set<String> subtypeNames = typeNameToSubtypeNames.get(typeName);
+        if (subtypeNames == null) {
+            return Collections.emptySet();
+        }
+        if (!transitive) {
+            return Collections.unmodifiableSet(subtypeNames);
+        }
+        Set<String> allSubtypeNames = new LinkedHashSet<>(subtypeNames);
+        Deque<String> pendingTypeNames = new ArrayDeque<>(subtypeNames);
+        while (!pendingTypeNames.isEmpty()) {
+            Set<String> names = typeNameToSubtypeNames.get(pendingTypeNames.poll());
+            if (names != null) {
+                for (String name : names) {
+                    if (allSubtypeNames.add(name)) {
+                        pendingTypeNames.add(name);
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableSet(allSubtypeNames);
+    }
+
+    /**
+     * @return the count of indexed classes
+     */
+    public int size() {
+        return classNameToMetadata.size();
+    }
+
+    private static List<ClassFileMetadata> readClassPath(String classPath, File cacheDirectory) {
+        File classPathFile = new File(classPath);
+        if (classPathFile.isDirectory()) {
+            return readDirectory(classPathFile);
+        } else if (classPathFile.isFile() && classPathFile.getName().endsWith(FileSuffixConstants.JAR)) {
+            File cacheFile = cacheDirectory == null ? null : getCacheFile(cacheDirectory, classPathFile);
+            List<ClassFileMetadata> metadataList = cacheFile == null ? null : readCacheFile(cacheFile, classPathFile);
+            if (metadataList == null) {
+                metadataList = new ArrayList<>();
+                // The partial metadata is not persisted, otherwise it would be trusted until the jar file is changed
+                if (readJarFile(classPathFile, metadataList) && cacheFile != null) {
+                    writeCacheFile(cacheFile, classPathFile, metadataList);
+                }
+            }
+            return metadataList;
+        } else if (NestedArchive.isNestedPath(classPath)) {
+            return readNestedClassPath(classPath);
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<ClassFileMetadata> readDirectory(File directory) {
+        Set<String> classNames = ClassUtils.findClassNamesInClassPath(directory.getAbsolutePath(), true);
+        List<ClassFileMetadata> metadataList = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            File classFile = new File(directory, resolveResourceName(className));
+            try {
+                metadataList.add(ClassFileMetadata.read(FileUtils.readFileToByteArray(classFile)));
+            } catch (IOException e) {
+                logger.debug("The class file[{}] can't be read", classFile, e);
+            }
+        }
+        return metadataList;
+    }
+
+    /**
+     * @param metadataList the list of metadata to be added
+     * @return <code>true</code> if all classes in the jar file were read, otherwise the metadata list is partial
+     */
+    private static boolean readJarFile(File jarFile, List<ClassFileMetadata> metadataList) {
+        Set<String> classNames = ClassUtils.findClassNamesInClassPath(jarFile.getAbsolutePath(), true);
+        boolean completed = true;
+        try (JarFileCache.Lease lease = JarUtils.acquireJarFile(jarFile)) {
+            JarFile jar = lease.getJarFile();
+            for (String className : classNames) {
+                ZipEntry zipEntry = jar.getEntry(resolveResourceName(className));
+                if (zipEntry == null) {
+                    continue;
+                }
+                try (InputStream inputStream = jar.getInputStream(zipEntry)) {
+                    metadataList.add(ClassFileMetadata.read(inputStream));
+                } catch (IOException e) {
+                    logger.debug("The class file[{}] in the jar file[{}] can't be read", zipEntry.getName(), jarFile, e);
+                    completed = false;
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("The jar file[{}] can't be read", jarFile, e);
+            completed = false;
+        }
+        return completed;
+    }
+
+    /**
+     * Read the nested jar or classes directory in the executable jar in place
+     */
+    private static List<ClassFileMetadata> readNestedClassPath(String classPath) {
+        List<ClassFileMetadata> metadataList = new ArrayList<>();
+        String entryName = NestedArchive.resolveEntryName(classPath);
+        try {
+            if (entryName.endsWith(FileSuffixConstants.JAR)) {
+                try (NestedArchive nestedArchive = NestedArchive.open(classPath)) {
+                    ZipCentralDirectory.Cursor cursor = nestedArchive.getCentralDirectory().cursor();
+                    while (cursor.next()) {
+                        if (cursor.nameEndsWith(FileSuffixConstants.CLASS)) {
+                            try (InputStream inputStream = nestedArchive.getInputStream(cursor)) {
+                                metadataList.add(ClassFileMetadata.read(inputStream));
+                            } catch (IOException e) {
+                                logger.debug("The class file[{}] in the nested jar[{}] can't be read", cursor.getName(), classPath, e);
+                            }
+                        }
+                    }
+                }
+            } else {
+                String prefix = entryName + "/";
+                try (JarFileCache.Lease lease = JarUtils.acquireJarFile(new File(NestedArchive.resolveArchivePath(classPath)))) {
+                    JarFile jar = lease.getJarFile();
+                    for (String className : ClassUtils.findClassNamesInClassPath(classPath, true)) {
+                        ZipEntry zipEntry = jar.getEntry(prefix + resolveResourceName(className));
+                        if (zipEntry != null) {
+                            try (InputStream inputStream = jar.getInputStream(zipEntry)) {
+                                metadataList.add(ClassFileMetadata.read(inputStream));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("The nested class path[{}] can't be read", classPath, e);
+        }
+        return metadataList;
+    }
+
+    private static String resolveResourceName(String className) {
+        return StringUtils.replace(className, ".", "/") + FileSuffixConstants.CLASS;
+    }
+
+    /**
+     * Get the cache file of the specified jar file , e.g "commons-io-2.4-6c6bd3e5.cmi"
+     */
+    private static File getCacheFile(File cacheDirectory, File jarFile) {
+        String path = jarFile.getAbsolutePath();
+        String cacheFileName = FilenameUtils.getBaseName(path) + "-" + Integer.toHexString(path.hashCode()) + CACHE_FILE_EXTENSION;
+        return new File(cacheDirectory, cacheFileName);
+    }
+
+    /**
+     * The binary format (big-endian, the strings are in the modified UTF-8) :
+     * <pre>
+     * int    magic
+     * int    version
+     * long   the length of jar file
+     * long   the last modified time of jar file
+     * String the absolute path of jar file
+     * int    the count of classes, and each class :
+     *   String   the name of class
+     *   int      the access flags
+     *   String   the name of super class, or empty if absent
+     *   int      the count of interfaces, and the names of interfaces
+     *   int      the count of annotations, and the names of annotations
+     * </pre>
+     */
+    private static List<ClassFileMetadata> readCacheFile(File cacheFile, File jarFile) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (inputStream.readInt() != MAGIC || inputStream.readInt() != VERSION) {
+                return null;
+            }
+            if (inputStream.readLong() != jarFile.length() || inputStream.readLong() != jarFile.lastModified()
+                    || !inputStream.readUTF().equals(jarFile.getAbsolutePath())) {
+                return null;
+            }
+            int count = inputStream.readInt();
+            List<ClassFileMetadata> metadataList = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String className = inputStream.readUTF();
+                int accessFlags = inputStream.readInt();
+                String superClassName = StringUtils.defaultIfEmpty(inputStream.readUTF(), null);
+                List<String> interfaceNames = readNames(inputStream);
+                List<String> annotationNames = readNames(inputStream);
+                metadataList.add(new ClassFileMetadata(className, accessFlags, superClassName, interfaceNames, annotationNames));
+            }
+            return metadataList;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("The class metadata index cache file[{}] can't be read", cacheFile, e);
+            return null;
+        }
+    }
+
+    private static List<String> readNames(DataInputStream inputStream) throws IOException {
+        int count = inputStream.readInt();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = inputStream.readUTF();
+        }
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    private static void writeCacheFile(File cacheFile, File jarFile, List<ClassFileMetadata> metadataList) {
+        Path cacheDirectory = cacheFile.getParentFile().toPath();
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            tempFile = Files.createTempFile(cacheDirectory, cacheFile.getName(), null);
+            try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                outputStream.writeInt(MAGIC);
+                outputStream.writeInt(VERSION);
+                outputStream.writeLong(jarFile.length());
+                outputStream.writeLong(jarFile.lastModified());
+                outputStream.writeUTF(jarFile.getAbsolutePath());
+                outputStream.writeInt(metadataList.size());
+                for (ClassFileMetadata metadata : metadataList) {
+                    outputStream.writeUTF(metadata.getClassName());
+                    outputStream.writeInt(metadata.getAccessFlags());
+                    outputStream.writeUTF(StringUtils.defaultString(metadata.getSuperClassName()));
+                    writeNames(outputStream, metadata.getInterfaceNames());
+                    writeNames(outputStream, metadata.getAnnotationNames());
+                }
+            }
+            try {
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.debug("The class metadata index cache file[{}] can't be written", cacheFile, e);
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    private static void writeNames(DataOutputStream outputStream, List<String> names) throws IOException {
+        outputStream.writeInt(names.size());
+        for (String name : names) {
+            outputStream.writeUTF(name);
+        }
+    }
+
+    private static class ClassPathIndexHolder {
+
+        private static final ClassMetadataIndex INSTANCE = build(getClassPaths(), getCacheDirectory());
+
+        private static Set<String> getClassPaths() {
+            Set<String> classPaths = new LinkedHashSet<>(ClassPathUtils.getClassPaths());
+            classPaths.addAll(ClassPathUtils.getNestedClassPaths());
+            return classPaths;
+        }
+
+        private static File getCacheDirectory() {
+            String cacheDirectory = System.getProperty(ClassUtils.CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME);
+            return StringUtils.isBlank(cacheDirectory) ? null : new File(cacheDirectory);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import java.util.Map;
+
+/**
+ * The immutable index of the class names to their class paths across all {@link ClassNameTable tables}.
+ * <p/>
+ * Every class name is identified by an int id, which is the offset of its table plus its index in the table, the ids
+ * are kept in an open-addressing int array with linear probing, thus no class name is stored twice. If a class name is
+ * present in more than one table, the first one wins.
+ * <p/>
+ * The {@link NameBloomFilter bloom filters} of the class names and package names are kept alongside, so that most of
+ * the absent names are rejected without probing the slots and the tables.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassNameTable
+ * @see ClassUtils
+ * @since 1.0.0
+ */
+final class ClassNameIndex {
+
+    private final String[] classPaths;
+
+    private final ClassNameTable[] tables;
+
+    /**
+     * The id offsets of the tables, the last element is the total count of class names
+     */
+    private final int[] tableOffsets;
+
+    /**
+     * The slots of (id + 1), zero means the empty slot
+     */
+    private final int[] slots;
+
+    private final int mask;
+
+    private final NameBloomFilter classNamesFilter;
+
+    private final NameBloomFilter packageNamesFilter;
+
+    /**
+     * @param classNameTables the class paths and their {@link ClassNameTable tables} in order
+     */
+    ClassNameIndex(Map<String, ClassNameTable> classNameTables) {
+        int tablesCount = classNameTables.size();
+        this.classPaths = classNameTables.keySet().toArray(new String[tablesCount]);
+        this.tables = classNameTables.values().toArray(new ClassNameTable[tablesCount]);
+        this.tableOffsets = new int[tablesCount + 1];
+        for (int i = 0; i < tablesCount; i++) {
+            tableOffsets[i + 1] = tableOffsets[i] + this.tables[i].size();
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, tableOffsets[tablesCount]) * 2 - 1) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        this.classNamesFilter = new NameBloomFilter(tableOffsets[tablesCount]);
+        int packagesCount = 0;
+        for (ClassNameTable table : this.tables) {
+            packagesCount += table.getPackageNames().size();
+        }
+        this.packageNamesFilter = new NameBloomFilter(packagesCount);
+        for (int i = 0; i < tablesCount; i++) {
+            ClassNameTable table = this.tables[i];
+            for (int j = 0; j < table.size(); j++) {
+                String className = table.get(j);
+                classNamesFilter.add(className);
+                add(className, tableOffsets[i] + j);
+            }
+            for (String packageName : table.getPackageNames()) {
+                packageNamesFilter.add(packageName);
+            }
+        }
+    }
+
+    private void add(String className, int id) {
+        int slot = mix(className.hashCode()) & mask;
+        int value;
+        while ((value = slots[slot]) != 0) {
+            if (className.equals(getClassName(value - 1))) { // the first one wins
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+    }
+
+    /**
+     * Find the class path which the class name is in
+     *
+     * @param className the class name
+     * @return the class path if found, or <code>null</code>
+     */
+    String findClassPath(String className) {
+        if (!classNamesFilter.mightContain(className)) {
+            return null;
+        }
+        int slot = mix(className.hashCode()) & mask;
+        int value;
+        while ((value = slots[slot]) != 0) {
+            int id = value - 1;
+            int tableIndex = indexOfTable(id);
+            if (className.equals(tables[tableIndex].get(id - tableOffsets[tableIndex]))) {
+                return classPaths[tableIndex];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Test the class name by the {@link NameBloomFilter bloom filter} without probing the slots
+     *
+     * @param className the class name
+     * @return <code>false</code> if the class name is absent definitely
+     */
+    boolean mightContainClass(String className) {
+        return classNamesFilter.mightContain(className);
+    }
+
+    /**
+     * Test the package name by the {@link NameBloomFilter bloom filter}
+     *
+     * @param packageName the package name
+     * @return <code>false</code> if the package name is absent definitely
+     */
+    boolean mightContainPackage(String packageName) {
+        return packageNamesFilter.mightContain(packageName);
+    }
+
+    private String getClassName(int id) {
+        int tableIndex = indexOfTable(id);
+        return tables[tableIndex].get(id - tableOffsets[tableIndex]);
+    }
+
+    private int indexOfTable(int id) {
+        int low = 0;
+        int high = tables.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (tableOffsets[middle] <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
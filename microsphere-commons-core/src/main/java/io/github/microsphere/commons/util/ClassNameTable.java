@@ -0,0 +1,319 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The compact and immutable table of the class names in one class path entry.
+ * <p/>
+ * The class names are stored once in an array sorted by their package names and then themselves, so that the class
+ * names in one package are contiguous, and each package name is stored once with the offset of its first class name.
+ * The lookups are binary searches without any allocation, and the {@link Set} views are lazy wrappers on the arrays.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassUtils
+ * @since 1.0.0
+ */
+final class ClassNameTable {
+
+    /**
+     * The empty {@link ClassNameTable}
+     */
+    static final ClassNameTable EMPTY = new ClassNameTable(new String[0], new String[0], new int[]{0});
+
+    /**
+     * Compare the class names by their package names, and then themselves
+     */
+    static final Comparator<String> CLASS_NAME_COMPARATOR = new Comparator<String>() {
+        @Override
+        public int compare(String className, String anotherClassName) {
+            int result = compareRegion(className, packageLength(className), anotherClassName, packageLength(anotherClassName));
+            return result == 0 ? className.compareTo(anotherClassName) : result;
+        }
+    };
+
+    /**
+     * The class names sorted by {@link #CLASS_NAME_COMPARATOR}
+     */
+    private final String[] classNames;
+
+    /**
+     * The sorted package names
+     */
+    private final String[] packageNames;
+
+    /**
+     * The offsets of the first class name in each package, the last element is the count of class names
+     */
+    private final int[] packageOffsets;
+
+    private ClassNameTable(String[] classNames, String[] packageNames, int[] packageOffsets) {
+        this.classNames = classNames;
+        this.packageNames = packageNames;
+        this.packageOffsets = packageOffsets;
+    }
+
+    /**
+     * Create a {@link ClassNameTable} from the class names
+     *
+     * @param classNames the class names
+     * @return non-null
+     */
+    static ClassNameTable of(Collection<String> classNames) {
+        if (classNames.isEmpty()) {
+            return EMPTY;
+        }
+        String[] sortedClassNames = classNames.toArray(new String[classNames.size()]);
+        Arrays.sort(sortedClassNames, CLASS_NAME_COMPARATOR);
+
+        // Remove the duplicated class names and count the packages
+        int size = 0;
+        int packagesCount = 0;
+        for (int i = 0; i < sortedClassNames.length; i++) {
+            String className = sortedClassNames[i];
+            if (size > 0 && className.equals(sortedClassNames[size - 1])) {
+                continue;
+            }
+            if (size == 0 || !isSamePackage(className, sortedClassNames[size - 1])) {
+                packagesCount++;
+            }
+            sortedClassNames[size++] = className;
+        }
+
+        String[] packageNames = new String[packagesCount];
+        int[] packageOffsets = new int[packagesCount + 1];
+        int packageIndex = 0;
+        for (int i = 0; i < size; i++) {
+            String className = sortedClassNames[i];
+            if (i == 0 || !isSamePackage(className, sortedClassNames[i - 1])) {
+                packageNames[packageIndex] = className.substring(0, packageLength(className));
+                packageOffsets[packageIndex++] = i;
+            }
+        }
+        packageOffsets[packagesCount] = size;
+
+        return new ClassNameTable(size == sortedClassNames.length ? sortedClassNames : Arrays.copyOf(sortedClassNames, size),
+                packageNames, packageOffsets);
+    }
+
+    /**
+     * Create a new {@link ClassNameTable} from this one with the changes
+     *
+     * @param addedClassNames     the added class names
+     * @param removedClassNames   the removed class names
+     * @param removedPackageNames the removed package names, including their sub-packages
+     * @return non-null
+     */
+    ClassNameTable update(Collection<String> addedClassNames, Collection<String> removedClassNames,
+                          Collection<String> removedPackageNames) {
+        List<String> classNames = new ArrayList<>(this.classNames.length + addedClassNames.size());
+        for (String className : this.classNames) {
+            if (!removedClassNames.contains(className) && !isInPackages(className, removedPackageNames)) {
+                classNames.add(className);
+            }
+        }
+        classNames.addAll(addedClassNames);
+        return of(classNames);
+    }
+
+    private static boolean isInPackages(String className, Collection<String> packageNames) {
+        for (String packageName : packageNames) {
+            if (className.length() > packageName.length() && className.startsWith(packageName)
+                    && className.charAt(packageName.length()) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the count of class names
+     */
+    int size() {
+        return classNames.length;
+    }
+
+    /**
+     * @param index the index of class name
+     * @return the class name
+     */
+    String get(int index) {
+        return classNames[index];
+    }
+
+    /**
+     * @param className the class name
+     * @return the index of class name if found, or negative
+     */
+    int indexOf(String className) {
+        return Arrays.binarySearch(classNames, className, CLASS_NAME_COMPARATOR);
+    }
+
+    boolean contains(String className) {
+        return indexOf(className) > -1;
+    }
+
+    /**
+     * @return the read-only {@link Set} view of all class names
+     */
+    Set<String> getClassNames() {
+        return new ClassNamesView(0, classNames.length);
+    }
+
+    /**
+     * @return the read-only {@link Set} view of all package names
+     */
+    Set<String> getPackageNames() {
+        return new ClassNamesView(packageNames, 0, packageNames.length);
+    }
+
+    /**
+     * @param packageName the package name
+     * @return the read-only {@link Set} view of the class names in the specified package, or <code>null</code> if
+     * absent
+     */
+    Set<String> getClassNamesInPackage(String packageName) {
+        int packageIndex = Arrays.binarySearch(packageNames, packageName);
+        if (packageIndex < 0) {
+            return null;
+        }
+        return new ClassNamesView(packageOffsets[packageIndex], packageOffsets[packageIndex + 1]);
+    }
+
+    /**
+     * @param packageName the package name
+     * @param recursive   is included the sub-packages
+     * @return the read-only {@link Set} view of the class names in the specified package and its sub-packages if
+     * recursive, which are located by the binary searches on the package names
+     */
+    Set<String> getClassNamesInPackage(String packageName, boolean recursive) {
+        int packageIndex = Arrays.binarySearch(packageNames, packageName);
+        if (!recursive) {
+            return packageIndex < 0 ? Collections.<String>emptySet() :
+                    new ClassNamesView(packageOffsets[packageIndex], packageOffsets[packageIndex + 1]);
+        }
+        // The sub-package names are contiguous in the range from "<packageName>." to "<packageName>/" exclusively
+        int fromIndex = insertionIndex(packageName + '.');
+        int toIndex = insertionIndex(packageName + (char) ('.' + 1));
+        if (packageIndex < 0) {
+            return new ClassNamesView(packageOffsets[fromIndex], packageOffsets[toIndex]);
+        } else if (packageIndex + 1 == fromIndex) {
+            return new ClassNamesView(packageOffsets[packageIndex], packageOffsets[toIndex]);
+        }
+        // Some package names are between the package and its sub-packages, e.g "a.b$c" is between "a.b" and "a.b.c"
+        Set<String> classNames = new LinkedHashSet<>(new ClassNamesView(packageOffsets[packageIndex], packageOffsets[packageIndex + 1]));
+        classNames.addAll(new ClassNamesView(packageOffsets[fromIndex], packageOffsets[toIndex]));
+        return Collections.unmodifiableSet(classNames);
+    }
+
+    private int insertionIndex(String packageName) {
+        int index = Arrays.binarySearch(packageNames, packageName);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * The length of package name in the class name, the class in the default package is regarded as the package
+     * itself, see {@link ClassUtils#resolvePackageName(String)}
+     */
+    static int packageLength(String className) {
+        int index = className.lastIndexOf('.');
+        return index < 0 ? className.length() : index;
+    }
+
+    private static boolean isSamePackage(String className, String anotherClassName) {
+        return compareRegion(className, packageLength(className), anotherClassName, packageLength(anotherClassName)) == 0;
+    }
+
+    private static int compareRegion(String one, int oneLength, String another, int anotherLength) {
+        int length = Math.min(oneLength, anotherLength);
+        for (int i = 0; i < length; i++) {
+            char c1 = one.charAt(i);
+            char c2 = another.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return oneLength - anotherLength;
+    }
+
+    /**
+     * The read-only {@link Set} view on the range of the sorted array
+     */
+    private class ClassNamesView extends AbstractSet<String> {
+
+        private final String[] values;
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        ClassNamesView(int fromIndex, int toIndex) {
+            this(classNames, fromIndex, toIndex);
+        }
+
+        ClassNamesView(String[] values, int fromIndex, int toIndex) {
+            this.values = values;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+            int index = values == classNames ?
+                    Arrays.binarySearch(values, fromIndex, toIndex, (String) o, CLASS_NAME_COMPARATOR) :
+                    Arrays.binarySearch(values, fromIndex, toIndex, o);
+            return index > -1;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private int index = fromIndex;
+
+                @Override
+                public boolean hasNext() {
+                    return index < toIndex;
+                }
+
+                @Override
+                public String next() {
+                    if (index >= toIndex) {
+                        throw new NoSuchElementException();
+                    }
+                    return values[index++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return toIndex - fromIndex;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return toIndex == fromIndex;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The {@link Spliterator} of the class names in the class path entries, the entries are opened lazily one by one when
+ * the class names are consumed, thus the rest of entries will not be read if the traversal is terminated early.
+ * <p/>
+ * The {@link #trySplit() split} happens on the boundary of class path entries, so that the entries could be read in
+ * parallel, and all opened entries will be closed by {@link #close()} from any split.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassUtils#streamAllClassNamesInClassPaths()
+ * @since 1.0.0
+ */
+final class ClassNamesSpliterator implements Spliterator<String>, AutoCloseable {
+
+    private final String[] classPaths;
+
+    private final boolean recursive;
+
+    /**
+     * The opened class names {@link Stream streams} shared by all splits
+     */
+    private final Set<Stream<String>> openedStreams;
+
+    private int index;
+
+    private final int fence;
+
+    private Stream<String> currentStream;
+
+    private Iterator<String> currentIterator;
+
+    ClassNamesSpliterator(String[] classPaths, boolean recursive) {
+        this(classPaths, recursive, ConcurrentHashMap.<Stream<String>>newKeySet(), 0, classPaths.length);
+    }
+
+    private ClassNamesSpliterator(String[] classPaths, boolean recursive, Set<Stream<String>> openedStreams,
+                                  int index, int fence) {
+        this.classPaths = classPaths;
+        this.recursive = recursive;
+        this.openedStreams = openedStreams;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        while (true) {
+            if (currentIterator != null) {
+                if (currentIterator.hasNext()) {
+                    action.accept(currentIterator.next());
+                    return true;
+                }
+                closeCurrentStream();
+            }
+            if (index >= fence) {
+                return false;
+            }
+            currentStream = ClassUtils.streamClassNamesInClassPath(classPaths[index++], recursive);
+            openedStreams.add(currentStream);
+            currentIterator = currentStream.iterator();
+        }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (currentIterator != null || middle <= index) { // The entry in traversal can't be a part of prefix
+            return null;
+        }
+        ClassNamesSpliterator prefix = new ClassNamesSpliterator(classPaths, recursive, openedStreams, index, middle);
+        this.index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return currentIterator == null && index >= fence ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    @Override
+    public void close() {
+        for (Stream<String> stream : openedStreams) {
+            stream.close();
+        }
+        openedStreams.clear();
+    }
+
+    private void closeCurrentStream() {
+        openedStreams.remove(currentStream);
+        currentStream.close();
+        currentStream = null;
+        currentIterator = null;
+    }
+}
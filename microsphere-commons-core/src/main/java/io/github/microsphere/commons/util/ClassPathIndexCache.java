@@ -0,0 +1,206 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The persistent cache of the class names in the class path entries, each entry is stored in one binary file under
+ * the cache directory, which is keyed by the absolute path of class path entry, and is valid until the size or the
+ * last modified time of entry was changed.
+ * <p/>
+ * The binary format (big-endian) :
+ * <pre>
+ * int    magic
+ * int    version
+ * long   the length of class path entry
+ * long   the last modified time of class path entry
+ * int    the length of class path entry's absolute path in UTF-8
+ * byte[] the absolute path of class path entry in UTF-8
+ * int    the count of class names
+ * int[]  the end offsets of class names in the following data block (count elements)
+ * byte[] the data block of class names in UTF-8
+ * </pre>
+ * The cache file is read by the {@link MappedByteBuffer memory mapping}, and is written to a temporary file before
+ * being moved to the target file atomically.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassUtils#CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME
+ * @since 1.0.0
+ */
+public class ClassPathIndexCache {
+
+    /**
+     * The magic number : "MSCI"
+     */
+    private static final int MAGIC = 0x4D534349;
+
+    private static final int VERSION = 1;
+
+    /**
+     * The extension of cache file
+     */
+    public static final String CACHE_FILE_EXTENSION = ".idx";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathIndexCache.class);
+
+    private final File cacheDirectory;
+
+    /**
+     * @param cacheDirectory the directory of cache files, it will be created if absent
+     */
+    public ClassPathIndexCache(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Get the cached class names in the specified class path entry
+     *
+     * @param classPathFile the file of class path entry
+     * @return If the cache is absent or the entry was changed since being cached, return <code>null</code>
+     */
+    @Nullable
+    public Set<String> get(File classPathFile) {
+        File cacheFile = getCacheFile(classPathFile);
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        try (FileChannel fileChannel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            if (buffer.getLong() != classPathFile.length() || buffer.getLong() != classPathFile.lastModified()) {
+                return null;
+            }
+            String path = readString(buffer, buffer.getInt());
+            if (!path.equals(classPathFile.getAbsolutePath())) {
+                return null;
+            }
+            int count = buffer.getInt();
+            int[] endOffsets = new int[count];
+            for (int i = 0; i < count; i++) {
+                endOffsets[i] = buffer.getInt();
+            }
+            byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            Set<String> classNames = new LinkedHashSet<>(count * 4 / 3 + 1);
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                classNames.add(new String(data, offset, endOffsets[i] - offset, UTF_8));
+                offset = endOffsets[i];
+            }
+            return Collections.unmodifiableSet(classNames);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("The class path index cache file[{}] can't be read", cacheFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Put the class names in the specified class path entry into the cache
+     *
+     * @param classPathFile the file of class path entry
+     * @param length        the length of class path entry before the class names were scanned
+     * @param lastModified  the last modified time of class path entry before the class names were scanned, thus the
+     *                      cache is invalid if the entry was changed during scanning
+     * @param classNames    the class names in the class path entry
+     */
+    public void put(File classPathFile, long length, long lastModified, Collection<String> classNames) {
+        File cacheFile = getCacheFile(classPathFile);
+        byte[] path = classPathFile.getAbsolutePath().getBytes(UTF_8);
+        byte[][] names = new byte[classNames.size()][];
+        int dataLength = 0;
+        int i = 0;
+        for (String className : classNames) {
+            names[i] = className.getBytes(UTF_8);
+            dataLength += names[i].length;
+            i++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + 8 + 4 + path.length + 4 + names.length * 4 + dataLength);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putLong(length).putLong(lastModified)
+                .putInt(path.length).put(path)
+                .putInt(names.length);
+        int endOffset = 0;
+        for (byte[] name : names) {
+            endOffset += name.length;
+            buffer.putInt(endOffset);
+        }
+        for (byte[] name : names) {
+            buffer.put(name);
+        }
+        buffer.flip();
+
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+            tempFile = Files.createTempFile(cacheDirectory.toPath(), cacheFile.getName(), null);
+            try (FileChannel fileChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    fileChannel.write(buffer);
+                }
+            }
+            try {
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.debug("The class path index cache file[{}] can't be written", cacheFile, e);
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Get the cache directory
+     *
+     * @return non-null
+     */
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Get the cache file of the specified class path entry , e.g "commons-io-2.4-6c6bd3e5.idx"
+     *
+     * @param classPathFile the file of class path entry
+     * @return non-null
+     */
+    protected File getCacheFile(File classPathFile) {
+        String path = classPathFile.getAbsolutePath();
+        String cacheFileName = FilenameUtils.getBaseName(path) + "-" + Integer.toHexString(path.hashCode()) + CACHE_FILE_EXTENSION;
+        return new File(cacheDirectory, cacheFileName);
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,289 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.constants.Constants;
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.constants.PathConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * The watcher of the directory class path entries based on {@link WatchService}, the changes of class files are
+ * collected in a short period and then applied to {@link ClassUtils} as the deltas, the directories will not be
+ * rescanned unless the events were lost.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassUtils#CLASS_PATH_INDEX_WATCH_PROPERTY_NAME
+ * @since 1.0.0
+ */
+final class ClassPathIndexWatcher implements Runnable {
+
+    /**
+     * The period in milliseconds to collect the events into one batch
+     */
+    private static final long BATCH_PERIOD = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathIndexWatcher.class);
+
+    private final WatchService watchService;
+
+    /**
+     * The watched directories, the {@link WatchKey} as key
+     */
+    private final ConcurrentMap<WatchKey, WatchedDirectory> watchedDirectories = new ConcurrentHashMap<>();
+
+    /**
+     * The watched class paths
+     */
+    private final Set<String> watchedClassPaths = ConcurrentHashMap.newKeySet();
+
+    private ClassPathIndexWatcher(WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+    /**
+     * Create and start a {@link ClassPathIndexWatcher} in a daemon thread
+     *
+     * @return <code>null</code> if {@link WatchService} is not available
+     */
+    static ClassPathIndexWatcher start() {
+        ClassPathIndexWatcher classPathIndexWatcher = null;
+        try {
+            classPathIndexWatcher = new ClassPathIndexWatcher(FileSystems.getDefault().newWatchService());
+            Thread thread = new Thread(classPathIndexWatcher, "microsphere-class-path-index-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("The class path index watcher can't be started", e);
+        }
+        return classPathIndexWatcher;
+    }
+
+    /**
+     * Watch the class path if it's a directory
+     *
+     * @param classPath class path
+     */
+    void watch(String classPath) {
+        File directory = new File(classPath);
+        if (directory.isDirectory() && watchedClassPaths.add(classPath)) {
+            Path root = directory.toPath();
+            register(classPath, root, root, null);
+        }
+    }
+
+    /**
+     * Stop watching, the watching thread will exit
+     */
+    void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("The class path index watcher can't be stopped", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Map<String, Delta> deltas = new HashMap<>();
+                WatchKey watchKey = watchService.take();
+                while (watchKey != null) {
+                    process(watchKey, deltas);
+                    watchKey = watchService.poll(BATCH_PERIOD, TimeUnit.MILLISECONDS);
+                }
+                for (Map.Entry<String, Delta> entry : deltas.entrySet()) {
+                    String classPath = entry.getKey();
+                    Delta delta = entry.getValue();
+                    if (delta.overflow) {
+                        ClassUtils.refreshClassNameTable(classPath);
+                    } else {
+                        ClassUtils.updateClassNameTable(classPath, delta.addedClassNames, delta.removedClassNames,
+                                delta.removedPackageNames);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("The class path index watcher was stopped");
+        }
+    }
+
+    private void process(WatchKey watchKey, Map<String, Delta> deltas) {
+        WatchedDirectory watchedDirectory = watchedDirectories.get(watchKey);
+        if (watchedDirectory == null) {
+            watchKey.cancel();
+            return;
+        }
+        String classPath = watchedDirectory.classPath;
+        Delta delta = deltas.get(classPath);
+        if (delta == null) {
+            delta = new Delta();
+            deltas.put(classPath, delta);
+        }
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            WatchEvent.Kind<?> kind = event.kind();
+            if (kind == OVERFLOW) {
+                delta.overflow = true;
+                continue;
+            }
+            Path path = watchedDirectory.directory.resolve((Path) event.context());
+            String name = resolveName(watchedDirectory.root, path);
+            if (kind == ENTRY_DELETE) {
+                if (unregister(path)) {
+                    delta.removePackage(name);
+                } else if (name.endsWith(FileSuffixConstants.CLASS)) {
+                    delta.remove(ClassUtils.resolveClassName(name));
+                }
+            } else if (Files.isDirectory(path)) {
+                if (kind == ENTRY_CREATE) {
+                    register(classPath, watchedDirectory.root, path, delta);
+                }
+            } else if (name.endsWith(FileSuffixConstants.CLASS)) {
+                delta.add(ClassUtils.resolveClassName(name));
+            }
+        }
+        if (!watchKey.reset()) {
+            watchedDirectories.remove(watchKey);
+        }
+    }
+
+    /**
+     * Register the directory and its sub-directories, the class files in them will be added into the delta if present
+     */
+    private void register(final String classPath, final Path root, Path directory, final Delta delta) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    WatchKey watchKey = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                    watchedDirectories.put(watchKey, new WatchedDirectory(classPath, root, dir));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String name = resolveName(root, file);
+                    if (delta != null && name.endsWith(FileSuffixConstants.CLASS)) {
+                        delta.add(ClassUtils.resolveClassName(name));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("The class path[{}] directory[{}] can't be watched", classPath, directory, e);
+        }
+    }
+
+    /**
+     * Unregister the deleted directory and its sub-directories
+     *
+     * @return <code>true</code> if the path was a watched directory
+     */
+    private boolean unregister(Path path) {
+        boolean unregistered = false;
+        for (Map.Entry<WatchKey, WatchedDirectory> entry : watchedDirectories.entrySet()) {
+            Path directory = entry.getValue().directory;
+            if (directory.startsWith(path)) {
+                entry.getKey().cancel();
+                watchedDirectories.remove(entry.getKey());
+                unregistered |= directory.equals(path);
+            }
+        }
+        return unregistered;
+    }
+
+    /**
+     * Resolve the name relative to the root with the slash separator, e.g "java/lang/String.class"
+     */
+    private static String resolveName(Path root, Path path) {
+        return StringUtils.replace(root.relativize(path).toString(), File.separator, PathConstants.SLASH);
+    }
+
+    /**
+     * The watched directory in the class path
+     */
+    private static class WatchedDirectory {
+
+        private final String classPath;
+
+        private final Path root;
+
+        private final Path directory;
+
+        WatchedDirectory(String classPath, Path root, Path directory) {
+            this.classPath = classPath;
+            this.root = root;
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * The changes of one class path in a batch
+     */
+    private static class Delta {
+
+        private final Set<String> addedClassNames = new LinkedHashSet<>();
+
+        private final Set<String> removedClassNames = new LinkedHashSet<>();
+
+        private final Set<String> removedPackageNames = new LinkedHashSet<>();
+
+        private boolean overflow;
+
+        void add(String className) {
+            removedClassNames.remove(className);
+            addedClassNames.add(className);
+        }
+
+        void remove(String className) {
+            addedClassNames.remove(className);
+            removedClassNames.add(className);
+        }
+
+        void removePackage(String packageResourceName) {
+            String packageName = StringUtils.replace(packageResourceName, PathConstants.SLASH, Constants.DOT);
+            String packageNamePrefix = packageName + Constants.DOT;
+            for (String className : addedClassNames.toArray(new String[0])) {
+                if (className.startsWith(packageNamePrefix)) {
+                    addedClassNames.remove(className);
+                }
+            }
+            removedPackageNames.add(packageName);
+        }
+    }
+}
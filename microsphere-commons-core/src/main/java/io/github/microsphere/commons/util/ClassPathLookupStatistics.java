@@ -0,0 +1,56 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+/**
+ * The snapshot of statistics of the class path lookups in {@link ClassUtils}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassUtils#getClassPathLookupStatistics()
+ * @since 1.0.0
+ */
+public class ClassPathLookupStatistics {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long rejections;
+
+    public ClassPathLookupStatistics(long hits, long misses, long rejections) {
+        this.hits = hits;
+        this.misses = misses;
+        this.rejections = rejections;
+    }
+
+    /**
+     * @return the count of lookups which found the class path or class names
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the count of lookups which found nothing, including the {@link #getRejections() rejections}
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the count of misses which were rejected by the bloom filters without probing the index
+     */
+    public long getRejections() {
+        return rejections;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassPathLookupStatistics{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", rejections=" + rejections +
+                '}';
+    }
+}
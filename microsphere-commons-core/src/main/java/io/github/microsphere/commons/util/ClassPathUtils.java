@@ -3,10 +3,13 @@
  */
 package io.github.microsphere.commons.util;
 
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.util.jar.NestedArchive;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 
 import javax.annotation.Nonnull;
+import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.net.URL;
@@ -27,6 +30,13 @@ import java.util.Set;
  */
 public abstract class ClassPathUtils {
 
+    /**
+     * The name of the System Property to resolve {@link #getNestedClassPaths() the nested class paths} in the jar
+     * files of class paths, the default value is <code>true</code> if the class path is one jar file, which is the case
+     * of the executable jar launched by "java -jar"
+     */
+    public static final String NESTED_CLASS_PATHS_ENABLED_PROPERTY_NAME = "microsphere.class-path.nested.enabled";
+
     protected static final RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
 
     private static final Set<String> bootstrapClassPaths = initBootstrapClassPaths();
@@ -78,6 +88,20 @@ public abstract class ClassPathUtils {
         return classPaths;
     }
 
+    /**
+     * Get the nested class paths in the jar files of {@link #getClassPaths() class paths}, e.g
+     * "/opt/app.jar!/BOOT-INF/classes" and "/opt/app.jar!/BOOT-INF/lib/commons-io-2.4.jar" of Spring Boot executable
+     * jar, which are not present in "java.class.path"
+     *
+     * @return non-null read-only {@link Set}, it's empty if {@link #NESTED_CLASS_PATHS_ENABLED_PROPERTY_NAME disabled}
+     * @see NestedArchive
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static Set<String> getNestedClassPaths() {
+        return NestedClassPathsHolder.nestedClassPaths;
+    }
+
     /**
      * Get Class Location URL from specified class name at runtime
      *
@@ -128,4 +152,25 @@ public abstract class ClassPathUtils {
         }
         return location;
     }
+
+    private static class NestedClassPathsHolder {
+
+        private static final Set<String> nestedClassPaths = initNestedClassPaths();
+
+        private static Set<String> initNestedClassPaths() {
+            String enabled = System.getProperty(NESTED_CLASS_PATHS_ENABLED_PROPERTY_NAME);
+            boolean executableJar = classPaths.size() == 1 && classPaths.iterator().next().endsWith(FileSuffixConstants.JAR);
+            if (enabled == null ? !executableJar : !Boolean.parseBoolean(enabled)) {
+                return Collections.emptySet();
+            }
+            Set<String> nestedClassPaths = new LinkedHashSet<>();
+            for (String classPath : classPaths) {
+                File jarFile = new File(classPath);
+                if (jarFile.isFile() && classPath.endsWith(FileSuffixConstants.JAR)) {
+                    nestedClassPaths.addAll(NestedArchive.findNestedClassPaths(jarFile));
+                }
+            }
+            return Collections.unmodifiableSet(nestedClassPaths);
+        }
+    }
 }
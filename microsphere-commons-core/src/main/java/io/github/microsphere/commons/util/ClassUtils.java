@@ -8,21 +8,41 @@ import io.github.microsphere.commons.constants.FileSuffixConstants;
 import io.github.microsphere.commons.constants.PathConstants;
 import io.github.microsphere.commons.filter.ClassFileJarEntryFilter;
 import io.github.microsphere.commons.io.FileUtils;
+import io.github.microsphere.commons.io.scanner.ParallelFileScanner;
 import io.github.microsphere.commons.io.scanner.SimpleFileScanner;
 import io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner;
+import io.github.microsphere.commons.util.jar.JarClassIndex;
+import io.github.microsphere.commons.util.jar.JarFileCache;
+import io.github.microsphere.commons.util.jar.JarUtils;
+import io.github.microsphere.commons.util.jar.NestedArchive;
+import io.github.microsphere.commons.util.jar.ZipCentralDirectory;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.CodeSource;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@link Class} utility class
@@ -34,56 +54,266 @@ import java.util.jar.JarFile;
  */
 public abstract class ClassUtils {
 
-    private static final Map<String, Set<String>> classPathToClassNamesMap = initClassPathToClassNamesMap();
+    /**
+     * The name of the System Property for the parallelism of class path indexing, <code>1</code> means the class path
+     * entries will be indexed one after another, the default value is the number of the available processors
+     */
+    public static final String CLASS_PATH_INDEX_PARALLELISM_PROPERTY_NAME = "microsphere.class-path.index.parallelism";
+
+    /**
+     * The name of the System Property for the directory of {@link ClassPathIndexCache the persistent class path index
+     * cache}, the class names in the jar files will be cached across the JVM restarts if present, so will the class
+     * metadata of {@link ClassMetadataIndex}
+     */
+    public static final String CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME = "microsphere.class-path.index.cache.directory";
+
+    /**
+     * The name of the System Property to enable {@link ClassPathIndexWatcher the watcher} of the directory class path
+     * entries, the changes of the class files will be applied to the index at runtime if <code>true</code>
+     */
+    public static final String CLASS_PATH_INDEX_WATCH_PROPERTY_NAME = "microsphere.class-path.index.watch";
+
+    /**
+     * The name of the System Property for the parallelism of scanning the class files in the directory class path
+     * entries, {@link ParallelFileScanner} will be used if it's greater than 1
+     */
+    public static final String CLASS_PATH_DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME = "microsphere.class-path.directory.scan.parallelism";
+
+    /**
+     * The parallelism of class path indexing
+     */
+    private static final int classPathIndexParallelism = Math.max(1, Integer.getInteger(CLASS_PATH_INDEX_PARALLELISM_PROPERTY_NAME,
+            Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * The parallelism of scanning the class files in the directory, 1 means single-thread
+     */
+    private static final int classPathDirectoryScanParallelism = Math.max(1,
+            Integer.getInteger(CLASS_PATH_DIRECTORY_SCAN_PARALLELISM_PROPERTY_NAME, 1));
+
+    /**
+     * The persistent class path index cache, <code>null</code> if {@link #CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME
+     * the cache directory} is absent
+     */
+    private static final ClassPathIndexCache classPathIndexCache = initClassPathIndexCache();
+
+    /**
+     * The watcher of the directory class path entries, <code>null</code> if {@link
+     * #CLASS_PATH_INDEX_WATCH_PROPERTY_NAME disabled}
+     */
+    private static final ClassPathIndexWatcher classPathIndexWatcher = Boolean.getBoolean(CLASS_PATH_INDEX_WATCH_PROPERTY_NAME) ?
+            ClassPathIndexWatcher.start() : null;
+
+    /**
+     * All indexed class paths, including {@link ClassPathUtils#getBootstrapClassPaths() bootstrap class paths},
+     * {@link ClassPathUtils#getClassPaths() application class paths} and {@link ClassPathUtils#getNestedClassPaths()
+     * nested class paths} in order
+     */
+    private static final Set<String> indexedClassPaths = initIndexedClassPaths();
+
+    /**
+     * The cache of {@link ClassNameTable} in one class path entry, the class path as key, lazily populated on first
+     * query
+     */
+    private static final ConcurrentMap<String, ClassNameTable> classPathToClassNameTableCache = new ConcurrentHashMap<>();
+
+    /**
+     * The version of the class path index, which will be increased when any entry is updated at runtime, the derived
+     * views built from the stale entries will not be published
+     */
+    private static final AtomicInteger classPathIndexVersion = new AtomicInteger();
+
+    /**
+     * The index of all class names to their class paths, built when all entries were indexed
+     */
+    private static volatile ClassNameIndex classNameIndex;
 
-    private static final Map<String, String> classNameToClassPathsMap = initClassNameToClassPathsMap();
+    /**
+     * The read-only view of all class path entries and their class names, built when all entries were indexed
+     */
+    private static volatile Map<String, Set<String>> classPathToClassNamesMap;
+
+    /**
+     * The read-only view of all package names, built when all entries were indexed
+     */
+    private static volatile Set<String> allPackageNames;
+
+    /**
+     * All class names in the class paths
+     */
+    private static volatile Set<String> allClassNames;
 
-    private static final Map<String, Set<String>> packageNameToClassNamesMap = initPackageNameToClassNamesMap();
+    private static final LongAdder lookupHits = new LongAdder();
+
+    private static final LongAdder lookupMisses = new LongAdder();
+
+    /**
+     * The misses rejected by the bloom filters of index
+     */
+    private static final LongAdder lookupRejections = new LongAdder();
 
     private ClassUtils() {
 
     }
 
-    private static Map<String, Set<String>> initClassPathToClassNamesMap() {
-        Map<String, Set<String>> classPathToClassNamesMap = new LinkedHashMap<>();
+    private static ClassPathIndexCache initClassPathIndexCache() {
+        String cacheDirectory = System.getProperty(CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME);
+        return StringUtils.isBlank(cacheDirectory) ? null : new ClassPathIndexCache(new File(cacheDirectory));
+    }
+
+    private static Set<String> initIndexedClassPaths() {
         Set<String> classPaths = new LinkedHashSet<>();
         classPaths.addAll(ClassPathUtils.getBootstrapClassPaths());
         classPaths.addAll(ClassPathUtils.getClassPaths());
-        for (String classPath : classPaths) {
-            Set<String> classNames = findClassNamesInClassPath(classPath, true);
-            classPathToClassNamesMap.put(classPath, classNames);
-        }
-        return Collections.unmodifiableMap(classPathToClassNamesMap);
+        classPaths.addAll(ClassPathUtils.getNestedClassPaths());
+        return Collections.unmodifiableSet(classPaths);
     }
 
-    private static Map<String, String> initClassNameToClassPathsMap() {
-        Map<String, String> classNameToClassPathsMap = new LinkedHashMap<>();
+    /**
+     * Get the {@link ClassNameTable} of the specified class path entry, the entry will be indexed on first query
+     *
+     * @param classPath class path
+     * @return non-null
+     */
+    private static ClassNameTable getClassNameTable(String classPath) {
+        ClassNameTable classNameTable = classPathToClassNameTableCache.get(classPath);
+        if (classNameTable == null) {
+            classNameTable = newClassNameTable(classPath);
+            ClassNameTable existedClassNameTable = classPathToClassNameTableCache.putIfAbsent(classPath, classNameTable);
+            if (existedClassNameTable != null) {
+                classNameTable = existedClassNameTable;
+            }
+        }
+        return classNameTable;
+    }
 
-        for (Map.Entry<String, Set<String>> entry : classPathToClassNamesMap.entrySet()) {
-            String classPath = entry.getKey();
-            Set<String> classNames = entry.getValue();
-            for (String className : classNames) {
-                classNameToClassPathsMap.put(className, classPath);
+    /**
+     * Get the {@link ClassNameIndex} of all class path entries, all entries will be indexed if absent
+     *
+     * @return non-null
+     */
+    private static ClassNameIndex getClassNameIndex() {
+        ClassNameIndex classNameIndex = ClassUtils.classNameIndex;
+        if (classNameIndex == null) {
+            int version = classPathIndexVersion.get();
+            indexClassPaths(indexedClassPaths);
+            Map<String, ClassNameTable> classNameTables = new LinkedHashMap<>();
+            for (String classPath : indexedClassPaths) {
+                classNameTables.put(classPath, getClassNameTable(classPath));
+            }
+            classNameIndex = new ClassNameIndex(classNameTables);
+            ClassUtils.classNameIndex = classNameIndex;
+            if (version != classPathIndexVersion.get()) {
+                ClassUtils.classNameIndex = null;
             }
         }
+        return classNameIndex;
+    }
 
-        return Collections.unmodifiableMap(classNameToClassPathsMap);
+    private static ClassNameTable newClassNameTable(String classPath) {
+        if (classPathIndexWatcher != null) {
+            classPathIndexWatcher.watch(classPath);
+        }
+        return ClassNameTable.of(findClassNamesInClassPath(classPath, true));
     }
 
-    private static Map<String, Set<String>> initPackageNameToClassNamesMap() {
-        Map<String, Set<String>> packageNameToClassNamesMap = new LinkedHashMap();
-        for (Map.Entry<String, String> entry : classNameToClassPathsMap.entrySet()) {
-            String className = entry.getKey();
-            String packageName = resolvePackageName(className);
-            Set<String> classNamesInPackage = packageNameToClassNamesMap.get(packageName);
-            if (classNamesInPackage == null) {
-                classNamesInPackage = new LinkedHashSet();
-                packageNameToClassNamesMap.put(packageName, classNamesInPackage);
+    /**
+     * Apply the changes to the {@link ClassNameTable} of the specified class path entry if indexed, and then publish it
+     * atomically
+     *
+     * @param classPath           class path
+     * @param addedClassNames     the added class names
+     * @param removedClassNames   the removed class names
+     * @param removedPackageNames the removed package names, including their sub-packages
+     */
+    static void updateClassNameTable(String classPath, final Set<String> addedClassNames, final Set<String> removedClassNames,
+                                     final Set<String> removedPackageNames) {
+        if (addedClassNames.isEmpty() && removedClassNames.isEmpty() && removedPackageNames.isEmpty()) {
+            return;
+        }
+        if (classPathToClassNameTableCache.computeIfPresent(classPath, (key, classNameTable) ->
+                classNameTable.update(addedClassNames, removedClassNames, removedPackageNames)) != null) {
+            invalidateClassPathIndexViews();
+        }
+    }
+
+    /**
+     * Rescan the specified class path entry if indexed, and then publish it atomically
+     *
+     * @param classPath class path
+     */
+    static void refreshClassNameTable(String classPath) {
+        if (classPathToClassNameTableCache.computeIfPresent(classPath, (key, classNameTable) ->
+                ClassNameTable.of(findClassNamesInClassPath(classPath, true))) != null) {
+            invalidateClassPathIndexViews();
+        }
+    }
+
+    private static void invalidateClassPathIndexViews() {
+        classPathIndexVersion.incrementAndGet();
+        classNameIndex = null;
+        classPathToClassNamesMap = null;
+        allPackageNames = null;
+        allClassNames = null;
+    }
+
+    /**
+     * Index the specified class path entries that were not indexed yet, fanning out over the bounded {@link
+     * ForkJoinPool} if {@link #CLASS_PATH_INDEX_PARALLELISM_PROPERTY_NAME the parallelism} is greater than 1. The
+     * results are merged in the order of class paths, thus the outcome is same as the sequential indexing.
+     *
+     * @param classPaths class paths
+     */
+    private static void indexClassPaths(Set<String> classPaths) {
+        List<String> unindexedClassPaths = new ArrayList<>(classPaths.size());
+        for (String classPath : classPaths) {
+            if (!classPathToClassNameTableCache.containsKey(classPath)) {
+                unindexedClassPaths.add(classPath);
             }
-            classNamesInPackage.add(className);
         }
 
-        return Collections.unmodifiableMap(packageNameToClassNamesMap);
+        if (classPathIndexParallelism < 2 || unindexedClassPaths.size() < 2) {
+            for (String classPath : unindexedClassPaths) {
+                getClassNameTable(classPath);
+            }
+            return;
+        }
+
+        ForkJoinPool forkJoinPool = ClassPathIndexPoolHolder.forkJoinPool;
+        List<ForkJoinTask<ClassNameTable>> tasks = new ArrayList<>(unindexedClassPaths.size());
+        for (final String classPath : unindexedClassPaths) {
+            tasks.add(forkJoinPool.submit(() -> newClassNameTable(classPath)));
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            String classPath = unindexedClassPaths.get(i);
+            ClassNameTable classNameTable;
+            try {
+                classNameTable = tasks.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                classNameTable = newClassNameTable(classPath);
+            } catch (ExecutionException e) {
+                classNameTable = newClassNameTable(classPath);
+            }
+            classPathToClassNameTableCache.putIfAbsent(classPath, classNameTable);
+        }
+    }
+
+    /**
+     * Is the specified resource possibly present in class path? The directory class path will be probed by the file
+     * system rather than being indexed, the others are always possible.
+     *
+     * @param classPath    class path
+     * @param resourceName the resource name , e.g "java/lang"
+     * @return If possible , return <code>true</code>
+     */
+    private static boolean isPossibleInClassPath(String classPath, String resourceName) {
+        File classesFileHolder = new File(classPath);
+        if (classesFileHolder.isDirectory()) {
+            return new File(classesFileHolder, resourceName).exists();
+        }
+        return true;
     }
 
     /**
@@ -93,7 +323,21 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Set<String> getAllPackageNamesInClassPaths() {
-        return packageNameToClassNamesMap.keySet();
+        Set<String> packageNames = allPackageNames;
+        if (packageNames == null) {
+            int version = classPathIndexVersion.get();
+            packageNames = new LinkedHashSet<>();
+            indexClassPaths(indexedClassPaths);
+            for (String classPath : indexedClassPaths) {
+                packageNames.addAll(getClassNameTable(classPath).getPackageNames());
+            }
+            packageNames = Collections.unmodifiableSet(packageNames);
+            allPackageNames = packageNames;
+            if (version != classPathIndexVersion.get()) {
+                allPackageNames = null;
+            }
+        }
+        return packageNames;
     }
 
     /**
@@ -109,7 +353,9 @@ public abstract class ClassUtils {
 
 
     /**
-     * Find all class names in class path
+     * Find all class names in class path, the class names in the jar file will be reused from {@link
+     * ClassPathIndexCache the persistent cache} if {@link #CLASS_PATH_INDEX_CACHE_DIRECTORY_PROPERTY_NAME enabled} and
+     * the jar file is not changed
      *
      * @param classPath class path
      * @param recursive is recursive on sub directories
@@ -121,7 +367,25 @@ public abstract class ClassUtils {
         if (classesFileHolder.isDirectory()) { //Directory
             return findClassNamesInDirectory(classesFileHolder, recursive);
         } else if (classesFileHolder.isFile() && classPath.endsWith(FileSuffixConstants.JAR)) { //JarFile
+            if (recursive && classPathIndexCache != null) {
+                Set<String> classNames = classPathIndexCache.get(classesFileHolder);
+                if (classNames == null) {
+                    // The fingerprint is taken before scanning, thus the jar file changed during scanning is rescanned
+                    long length = classesFileHolder.length();
+                    long lastModified = classesFileHolder.lastModified();
+                    try {
+                        classNames = doFindClassNamesInJarFile(classesFileHolder, true);
+                    } catch (IOException | RuntimeException e) {
+                        // The failure may be temporary, thus it's not cached
+                        return Collections.emptySet();
+                    }
+                    classPathIndexCache.put(classesFileHolder, length, lastModified, classNames);
+                }
+                return classNames;
+            }
             return findClassNamesInJarFile(classesFileHolder, recursive);
+        } else if (NestedArchive.isNestedPath(classPath)) { // The nested jar or classes directory
+            return findClassNamesInNestedClassPath(classPath, recursive);
         }
         return Collections.emptySet();
     }
@@ -145,7 +409,41 @@ public abstract class ClassUtils {
      */
     @Nullable
     public static String findClassPath(String className) {
-        return classNameToClassPathsMap.get(className);
+        String classPath = doFindClassPath(className);
+        if (classPath == null) {
+            lookupMisses.increment();
+        } else {
+            lookupHits.increment();
+        }
+        return classPath;
+    }
+
+    private static String doFindClassPath(String className) {
+        ClassNameIndex classNameIndex = ClassUtils.classNameIndex;
+        if (classNameIndex != null) {
+            if (!classNameIndex.mightContainClass(className)) {
+                lookupRejections.increment();
+                return null;
+            }
+            return classNameIndex.findClassPath(className);
+        }
+        String classResourceName = StringUtils.replace(className, Constants.DOT, PathConstants.SLASH) + FileSuffixConstants.CLASS;
+        for (String classPath : indexedClassPaths) {
+            ClassNameTable classNameTable = classPathToClassNameTableCache.get(classPath);
+            if (classNameTable == null) {
+                if (!isPossibleInClassPath(classPath, classResourceName)) {
+                    continue;
+                }
+                classNameTable = getClassNameTable(classPath);
+            }
+            if (classNameTable.contains(className)) {
+                return classPath;
+            }
+        }
+        // All entries were missed, including the directories which were probed only, thus the remaining entries are
+        // indexed on the first full miss, and the next lookups go to the index
+        getClassNameIndex();
+        return null;
     }
 
     /**
@@ -157,7 +455,7 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Set<String> getClassNamesInClassPath(String classPath, boolean recursive) {
-        Set<String> classNames = classPathToClassNamesMap.get(classPath);
+        Set<String> classNames = indexedClassPaths.contains(classPath) ? getClassNameTable(classPath).getClassNames() : null;
         if (CollectionUtils.isEmpty(classNames)) {
             classNames = findClassNamesInClassPath(classPath, recursive);
         }
@@ -183,15 +481,61 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Set<String> getClassNamesInPackage(String packageName) {
-        Set<String> classNames = packageNameToClassNamesMap.get(packageName);
-        return classNames == null ? Collections.emptySet() : classNames;
+        Set<String> classNames = doGetClassNamesInPackage(packageName);
+        if (classNames.isEmpty()) {
+            lookupMisses.increment();
+        } else {
+            lookupHits.increment();
+        }
+        return classNames;
+    }
+
+    private static Set<String> doGetClassNamesInPackage(String packageName) {
+        ClassNameIndex classNameIndex = ClassUtils.classNameIndex;
+        if (classNameIndex != null && !classNameIndex.mightContainPackage(packageName)) {
+            lookupRejections.increment();
+            return Collections.emptySet();
+        }
+        String packageResourceName = StringUtils.replace(packageName, Constants.DOT, PathConstants.SLASH);
+        // The class in the default package is indexed under its own name, see resolvePackageName(String)
+        String defaultPackageClassResourceName = packageResourceName + FileSuffixConstants.CLASS;
+        Set<String> classNames = null;
+        Set<String> mergedClassNames = null;
+        for (String classPath : indexedClassPaths) {
+            ClassNameTable classNameTable = classPathToClassNameTableCache.get(classPath);
+            if (classNameTable == null) {
+                if (!isPossibleInClassPath(classPath, packageResourceName)
+                        && !isPossibleInClassPath(classPath, defaultPackageClassResourceName)) {
+                    continue;
+                }
+                classNameTable = getClassNameTable(classPath);
+            }
+            Set<String> classNamesInPackage = classNameTable.getClassNamesInPackage(packageName);
+            if (classNamesInPackage == null) {
+                continue;
+            }
+            if (classNames == null) {
+                classNames = classNamesInPackage;
+            } else { // The package is split in multiple class paths
+                if (mergedClassNames == null) {
+                    mergedClassNames = new LinkedHashSet<>(classNames);
+                }
+                mergedClassNames.addAll(classNamesInPackage);
+            }
+        }
+        if (mergedClassNames != null) {
+            return Collections.unmodifiableSet(mergedClassNames);
+        }
+        return classNames == null ? Collections.<String>emptySet() : classNames;
     }
 
 
     protected static Set<String> findClassNamesInDirectory(File classesDirectory, boolean recursive) {
         Set<String> classNames = new LinkedHashSet();
-        SimpleFileScanner simpleFileScanner = SimpleFileScanner.INSTANCE;
-        Set<File> classFiles = simpleFileScanner.scan(classesDirectory, recursive, new SuffixFileFilter(FileSuffixConstants.CLASS));
+        SuffixFileFilter classFileFilter = new SuffixFileFilter(FileSuffixConstants.CLASS);
+        Set<File> classFiles = classPathDirectoryScanParallelism > 1 ?
+                ParallelFileScannerHolder.parallelFileScanner.scan(classesDirectory, recursive, classFileFilter, true) :
+                SimpleFileScanner.INSTANCE.scan(classesDirectory, recursive, classFileFilter);
         for (File classFile : classFiles) {
             String className = resolveClassName(classesDirectory, classFile);
             classNames.add(className);
@@ -200,15 +544,51 @@ public abstract class ClassUtils {
     }
 
     protected static Set<String> findClassNamesInJarFile(File jarFile, boolean recursive) {
+        try {
+            return doFindClassNamesInJarFile(jarFile, recursive);
+        } catch (IOException | RuntimeException e) {
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * @return non-null {@link Set}, it's empty if the jar file is absent
+     * @throws IOException If the jar file can't be read, which is distinguished from the jar file without classes
+     */
+    private static Set<String> doFindClassNamesInJarFile(File jarFile, boolean recursive) throws IOException {
         if (!jarFile.exists()) {
             return Collections.emptySet();
         }
 
         Set<String> classNames = new LinkedHashSet();
 
+        ZipCentralDirectory centralDirectory = readCentralDirectory(jarFile);
+        if (centralDirectory != null) { // Only the central directory is read without opening the JarFile
+            ZipCentralDirectory.Cursor cursor = centralDirectory.cursor();
+            while (cursor.next()) {
+                if (isClassIndex(cursor)) { // The class index generated at build time, the rest of records are skipped
+                    JarClassIndex classIndex = readClassIndex(jarFile, cursor);
+                    if (classIndex != null) {
+                        return new LinkedHashSet<>(classIndex.getClassNames(StringUtils.EMPTY, recursive));
+                    }
+                } else if (isClassFileInPath(cursor, recursive)) {
+                    String className = resolveClassName(cursor.getName());
+                    if (StringUtils.isNotBlank(className)) {
+                        classNames.add(className);
+                    }
+                }
+            }
+            return classNames;
+        }
+
         SimpleJarEntryScanner simpleJarEntryScanner = SimpleJarEntryScanner.INSTANCE;
-        try {
-            JarFile jarFile_ = new JarFile(jarFile);
+        try (JarFileCache.Lease lease = JarUtils.acquireJarFile(jarFile)) {
+            JarFile jarFile_ = lease.getJarFile();
+            JarClassIndex classIndex = JarClassIndex.read(jarFile_);
+            if (classIndex != null) { // The class index generated at build time
+                classNames.addAll(classIndex.getClassNames(StringUtils.EMPTY, recursive));
+                return classNames;
+            }
             Set<JarEntry> jarEntries = simpleJarEntryScanner.scan(jarFile_, recursive, ClassFileJarEntryFilter.INSTANCE);
 
             for (JarEntry jarEntry : jarEntries) {
@@ -218,14 +598,129 @@ public abstract class ClassUtils {
                     classNames.add(className);
                 }
             }
+        }
 
-        } catch (Exception e) {
+        return classNames;
+    }
 
-        }
 
+    /**
+     * Find the class names in the nested class path entry of the executable jar, which is read in place without
+     * extraction :
+     * <ul>
+     * <li>Nested jar, e.g "/opt/app.jar!/BOOT-INF/lib/commons-io-2.4.jar" : its central directory is read by the
+     * offset in the outer jar file</li>
+     * <li>Nested classes directory, e.g "/opt/app.jar!/BOOT-INF/classes" : the entries under the directory in the
+     * central directory of outer jar file</li>
+     * </ul>
+     *
+     * @param classPath the nested class path
+     * @param recursive is recursive on sub directories
+     * @return non-null {@link Set}
+     * @see NestedArchive
+     */
+    protected static Set<String> findClassNamesInNestedClassPath(String classPath, boolean recursive) {
+        String entryName = NestedArchive.resolveEntryName(classPath);
+        Set<String> classNames = new LinkedHashSet<>();
+        try {
+            if (entryName.endsWith(FileSuffixConstants.JAR)) {
+                try (NestedArchive nestedArchive = NestedArchive.open(classPath)) {
+                    ZipCentralDirectory.Cursor cursor = nestedArchive.getCentralDirectory().cursor();
+                    while (cursor.next()) {
+                        if (isClassFileInPath(cursor, recursive)) {
+                            addClassName(classNames, cursor.getName());
+                        }
+                    }
+                }
+            } else {
+                String prefix = entryName + PathConstants.SLASH;
+                File jarFile = new File(NestedArchive.resolveArchivePath(classPath));
+                ZipCentralDirectory.Cursor cursor = ZipCentralDirectory.read(jarFile).cursor();
+                while (cursor.next()) {
+                    if (cursor.nameStartsWith(prefix) && cursor.nameEndsWith(FileSuffixConstants.CLASS)
+                            && (recursive || cursor.nameIndexOf('/', prefix.length()) < 0)) {
+                        addClassName(classNames, cursor.getName().substring(prefix.length()));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The class names which were read before the failure are returned
+        }
         return classNames;
     }
 
+    private static void addClassName(Set<String> classNames, String resourceName) {
+        String className = resolveClassName(resourceName);
+        if (StringUtils.isNotBlank(className)) {
+            classNames.add(className);
+        }
+    }
+
+    /**
+     * Read the {@link ZipCentralDirectory} of jar file for the class names
+     *
+     * @param jarFile the jar file
+     * @return <code>null</code> if the central directory can't be read, then {@link JarFile} should be used
+     */
+    @Nullable
+    private static ZipCentralDirectory readCentralDirectory(File jarFile) {
+        try {
+            return ZipCentralDirectory.read(jarFile);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the current record of cursor is the resource of {@link JarClassIndex}
+     */
+    private static boolean isClassIndex(ZipCentralDirectory.Cursor cursor) {
+        return cursor.getNameLength() == JarClassIndex.RESOURCE_NAME.length()
+                && cursor.nameStartsWith(JarClassIndex.RESOURCE_NAME);
+    }
+
+    /**
+     * Read the {@link JarClassIndex} of the current record of cursor by its local file header without opening the
+     * {@link JarFile}
+     *
+     * @return <code>null</code> if it can't be read, then the class names should be read from the central directory
+     */
+    @Nullable
+    private static JarClassIndex readClassIndex(File jarFile, ZipCentralDirectory.Cursor cursor) {
+        try {
+            return JarClassIndex.read(new ByteArrayInputStream(ZipCentralDirectory.readEntry(jarFile, cursor)));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read the {@link JarClassIndex} of jar file by a pass over the records of {@link ZipCentralDirectory}, which are
+     * mapped in memory
+     *
+     * @return <code>null</code> if it's absent or can't be read
+     */
+    @Nullable
+    private static JarClassIndex readClassIndex(File jarFile, ZipCentralDirectory centralDirectory) {
+        ZipCentralDirectory.Cursor cursor = centralDirectory.cursor();
+        try {
+            while (cursor.next()) {
+                if (isClassIndex(cursor)) {
+                    return readClassIndex(jarFile, cursor);
+                }
+            }
+        } catch (IllegalStateException e) { // The corrupt record will be met by the lazy stream again
+        }
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if the current record of cursor is the class file in the path, as same as the class
+     * file entries scanned by {@link SimpleJarEntryScanner}
+     */
+    private static boolean isClassFileInPath(ZipCentralDirectory.Cursor cursor, boolean recursive) {
+        return cursor.nameEndsWith(FileSuffixConstants.CLASS) && (recursive || cursor.nameIndexOf('/', 0) < 0);
+    }
 
     protected static String resolveClassName(File classesDirectory, File classFile) {
         String classFileRelativePath = FileUtils.resolveRelativePath(classesDirectory, classFile);
@@ -255,6 +750,20 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Map<String, Set<String>> getClassPathToClassNamesMap() {
+        Map<String, Set<String>> classPathToClassNamesMap = ClassUtils.classPathToClassNamesMap;
+        if (classPathToClassNamesMap == null) {
+            int version = classPathIndexVersion.get();
+            indexClassPaths(indexedClassPaths);
+            classPathToClassNamesMap = new LinkedHashMap<>();
+            for (String classPath : indexedClassPaths) {
+                classPathToClassNamesMap.put(classPath, getClassNameTable(classPath).getClassNames());
+            }
+            classPathToClassNamesMap = Collections.unmodifiableMap(classPathToClassNamesMap);
+            ClassUtils.classPathToClassNamesMap = classPathToClassNamesMap;
+            if (version != classPathIndexVersion.get()) {
+                ClassUtils.classPathToClassNamesMap = null;
+            }
+        }
         return classPathToClassNamesMap;
     }
 
@@ -265,13 +774,220 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Set<String> getAllClassNamesInClassPaths() {
-        Set<String> allClassNames = new LinkedHashSet();
-        for (Set<String> classNames : classPathToClassNamesMap.values()) {
-            allClassNames.addAll(classNames);
+        Set<String> allClassNames = ClassUtils.allClassNames;
+        if (allClassNames == null) {
+            int version = classPathIndexVersion.get();
+            allClassNames = new LinkedHashSet();
+            for (Set<String> classNames : getClassPathToClassNamesMap().values()) {
+                allClassNames.addAll(classNames);
+            }
+            allClassNames = Collections.unmodifiableSet(allClassNames);
+            ClassUtils.allClassNames = allClassNames;
+            if (version != classPathIndexVersion.get()) {
+                ClassUtils.allClassNames = null;
+            }
         }
-        return Collections.unmodifiableSet(allClassNames);
+        return allClassNames;
     }
 
+    /**
+     * The lazy {@link Stream} of all class names in {@link ClassPathUtils#getClassPaths() class path}, the class path
+     * entries are read one by one when the class names are consumed, and are split by entry for the {@link
+     * Stream#parallel() parallel stream}, thus the short-circuiting operations, e.g {@link Stream#findFirst()}, will not
+     * read the rest of entries. The class name may present more than once if it's in the multiple class path entries.
+     * <p/>
+     * The {@link Stream} must be closed after use, although the resources of class path entries are released once they
+     * are consumed completely, e.g :
+     * <pre>
+     * try (Stream&lt;String&gt; classNames = ClassUtils.streamAllClassNamesInClassPaths()) {
+     *     return classNames.filter(className -&gt; className.endsWith("Utils")).findFirst();
+     * }
+     * </pre>
+     *
+     * @return non-null {@link Stream}
+     */
+    @Nonnull
+    public static Stream<String> streamAllClassNamesInClassPaths() {
+        ClassNamesSpliterator spliterator = new ClassNamesSpliterator(indexedClassPaths.toArray(new String[0]), true);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * The lazy {@link Stream} of the class names in class path, the class names will be read from the indexed class
+     * path entry if present, or from the jar file or directory on demand
+     *
+     * @param classPath class path
+     * @param recursive is recursive on sub directories
+     * @return non-null {@link Stream}, which must be closed after use
+     */
+    @Nonnull
+    public static Stream<String> streamClassNamesInClassPath(String classPath, boolean recursive) {
+        ClassNameTable classNameTable = classPathToClassNameTableCache.get(classPath);
+        if (classNameTable != null && recursive) {
+            return classNameTable.getClassNames().stream();
+        }
+        File classesFileHolder = new File(classPath); // JarFile or Directory
+        if (classesFileHolder.isDirectory()) { //Directory
+            return streamClassNamesInDirectory(classesFileHolder, recursive);
+        } else if (classesFileHolder.isFile() && classPath.endsWith(FileSuffixConstants.JAR)) { //JarFile
+            if (recursive && classPathIndexCache != null) {
+                return findClassNamesInClassPath(classPath, true).stream();
+            }
+            return streamClassNamesInJarFile(classesFileHolder, recursive);
+        } else if (NestedArchive.isNestedPath(classPath)) {
+            return findClassNamesInNestedClassPath(classPath, recursive).stream();
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * The lazy {@link Stream} of the class names in the package of class path, the package prefix is pushed down into
+     * the traversal, thus the cost is proportional to the size of package rather than the whole class path entry :
+     * <ul>
+     * <li>Directory : only the directory of package will be traversed, unless the directory was indexed</li>
+     * <li>Jar file : the class names are located by the binary searches on its sorted class name index, which is built
+     * once on first scanning if the jar file is an {@link ClassPathUtils#getClassPaths() indexed class path}</li>
+     * </ul>
+     *
+     * @param classPath   class path
+     * @param packageName the name of package, the empty name means the default package
+     * @param recursive   included sub-packages
+     * @return non-null {@link Stream}, which must be closed after use
+     */
+    @Nonnull
+    public static Stream<String> streamClassNamesInPackage(String classPath, String packageName, boolean recursive) {
+        if (StringUtils.isEmpty(packageName)) {
+            return streamClassNamesInClassPath(classPath, recursive);
+        }
+        ClassNameTable classNameTable = classPathToClassNameTableCache.get(classPath);
+        if (classNameTable != null) {
+            return classNameTable.getClassNamesInPackage(packageName, recursive).stream();
+        }
+        File classesFileHolder = new File(classPath); // JarFile or Directory
+        if (classesFileHolder.isDirectory()) { //Directory
+            File packageDirectory = new File(classesFileHolder, StringUtils.replace(packageName, Constants.DOT, File.separator));
+            return packageDirectory.isDirectory() ?
+                    streamClassNamesInDirectory(classesFileHolder, packageDirectory, recursive) : Stream.<String>empty();
+        } else if ((classesFileHolder.isFile() && classPath.endsWith(FileSuffixConstants.JAR)) //JarFile
+                || NestedArchive.isNestedPath(classPath)) {
+            // Only the table of indexed class path is cached, the others are built for the current scanning
+            ClassNameTable classPathClassNameTable = indexedClassPaths.contains(classPath) ? getClassNameTable(classPath) :
+                    ClassNameTable.of(findClassNamesInClassPath(classPath, true));
+            return classPathClassNameTable.getClassNamesInPackage(packageName, recursive).stream();
+        }
+        return Stream.empty();
+    }
+
+    protected static Stream<String> streamClassNamesInDirectory(File classesDirectory, boolean recursive) {
+        return streamClassNamesInDirectory(classesDirectory, classesDirectory, recursive);
+    }
+
+    private static Stream<String> streamClassNamesInDirectory(File classesDirectory, File directory, boolean recursive) {
+        final Path root = classesDirectory.toPath();
+        try {
+            return closeOnExhaustion(Files.walk(directory.toPath(), recursive ? Integer.MAX_VALUE : 1)
+                    .filter(path -> path.toString().endsWith(FileSuffixConstants.CLASS) && Files.isRegularFile(path))
+                    .map(path -> resolveClassName(StringUtils.replace(root.relativize(path).toString(), File.separator, PathConstants.SLASH))));
+        } catch (IOException e) {
+            return Stream.empty();
+        }
+    }
+
+    protected static Stream<String> streamClassNamesInJarFile(File jarFile, final boolean recursive) {
+        ZipCentralDirectory centralDirectory = readCentralDirectory(jarFile);
+        if (centralDirectory != null) { // The records are read lazily without opening the JarFile
+            JarClassIndex classIndex = readClassIndex(jarFile, centralDirectory);
+            if (classIndex != null) { // The class index generated at build time, as same as findClassNamesInJarFile
+                return classIndex.getClassNames(StringUtils.EMPTY, recursive).stream();
+            }
+            final ZipCentralDirectory.Cursor cursor = centralDirectory.cursor();
+            return StreamSupport.stream(new Spliterators.AbstractSpliterator<String>(centralDirectory.size(),
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super String> action) {
+                    while (cursor.next()) {
+                        if (isClassFileInPath(cursor, recursive)) {
+                            String className = resolveClassName(cursor.getName());
+                            if (StringUtils.isNotBlank(className)) {
+                                action.accept(className);
+                                return true;
+                            }
+                        }
+                    }
+                    return false;
+                }
+            }, false);
+        }
+        final JarFileCache.Lease lease;
+        Stream<String> classNames;
+        try {
+            lease = JarUtils.acquireJarFile(jarFile);
+        } catch (IOException e) {
+            return Stream.empty();
+        }
+        try {
+            JarFile jarFile_ = lease.getJarFile();
+            JarClassIndex classIndex = JarClassIndex.read(jarFile_);
+            if (classIndex != null) { // The class index generated at build time
+                classNames = classIndex.getClassNames(StringUtils.EMPTY, recursive).stream();
+            } else {
+                classNames = jarFile_.stream()
+                        .filter(ClassFileJarEntryFilter.INSTANCE::accept)
+                        .map(JarEntry::getName)
+                        .filter(name -> recursive || name.indexOf(PathConstants.SLASH) < 0)
+                        .map(ClassUtils::resolveClassName)
+                        .filter(StringUtils::isNotBlank);
+            }
+        } catch (IOException e) {
+            lease.close();
+            return Stream.empty();
+        }
+        return closeOnExhaustion(classNames.onClose(lease::close));
+    }
+
+    /**
+     * Wrap the {@link Stream} which holds the resources, e.g the {@link JarFileCache.Lease lease} of {@link JarFile},
+     * the resources will be released once the {@link Stream} is exhausted, or it's closed
+     *
+     * @param stream the {@link Stream} of class names
+     * @return non-null {@link Stream}
+     */
+    private static Stream<String> closeOnExhaustion(final Stream<String> stream) {
+        final Spliterator<String> spliterator = stream.spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<String>(spliterator.estimateSize(),
+                spliterator.characteristics() & (Spliterator.ORDERED | Spliterator.NONNULL)) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (spliterator.tryAdvance(action)) {
+                    return true;
+                }
+                stream.close();
+                return false;
+            }
+        }, false).onClose(stream::close);
+    }
+
+
+    /**
+     * Get the version of the class path index, which is increased when any indexed entry is updated at runtime, e.g by
+     * {@link #CLASS_PATH_INDEX_WATCH_PROPERTY_NAME the watcher}, thus the results derived from the class path are stale
+     * if the version was changed
+     *
+     * @return the current version
+     */
+    public static int getClassPathIndexVersion() {
+        return classPathIndexVersion.get();
+    }
+
+    /**
+     * Get the statistics of the lookups by {@link #findClassPath(String)} and {@link #getClassNamesInPackage(String)}
+     *
+     * @return the snapshot of statistics
+     */
+    @Nonnull
+    public static ClassPathLookupStatistics getClassPathLookupStatistics() {
+        return new ClassPathLookupStatistics(lookupHits.sum(), lookupMisses.sum(), lookupRejections.sum());
+    }
 
     /**
      * Get {@link Class}'s code source location URL
@@ -302,5 +1018,20 @@ public abstract class ClassUtils {
         return codeSourceLocation;
     }
 
+    /**
+     * The holder of the {@link ForkJoinPool} for class path indexing, which will be created on first parallel indexing
+     */
+    private static class ClassPathIndexPoolHolder {
+
+        private static final ForkJoinPool forkJoinPool = new ForkJoinPool(classPathIndexParallelism);
+    }
 
+    /**
+     * The holder of the {@link ParallelFileScanner} for the directory class path entries, which will be created on first
+     * parallel scanning
+     */
+    private static class ParallelFileScannerHolder {
+
+        private static final ParallelFileScanner parallelFileScanner = new ParallelFileScanner(classPathDirectoryScanParallelism);
+    }
 }
@@ -0,0 +1,69 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+/**
+ * The compact and immutable bloom filter of the names, which rejects the absent names before probing the index. The
+ * bits are about 10~20 per name with 7 hash functions derived from {@link String#hashCode() the cached hash code},
+ * thus the false positive rate is less than 1% and the test is allocation-free.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassNameIndex
+ * @since 1.0.0
+ */
+final class NameBloomFilter {
+
+    private static final int BITS_PER_NAME = 10;
+
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final long[] words;
+
+    private final int mask;
+
+    NameBloomFilter(int expectedNames) {
+        int bits = Integer.highestOneBit(Math.max(64, expectedNames * BITS_PER_NAME) * 2 - 1);
+        this.words = new long[bits >>> 6];
+        this.mask = bits - 1;
+    }
+
+    void add(String name) {
+        int hash = name.hashCode();
+        int step = mix(hash) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = hash & mask;
+            words[bit >>> 6] |= 1L << bit;
+            hash += step;
+        }
+    }
+
+    /**
+     * @param name the name
+     * @return <code>false</code> if the name is absent definitely, or <code>true</code> if it might be present
+     */
+    boolean mightContain(String name) {
+        int hash = name.hashCode();
+        int step = mix(hash) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = hash & mask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+            hash += step;
+        }
+        return true;
+    }
+
+    /**
+     * The finalization mix of MurmurHash3
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.constants.Constants;
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.constants.PathConstants;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The class index of {@link JarFile}, which is generated at build time by {@link JarClassIndexGenerator} into the
+ * resource {@link #RESOURCE_NAME "META-INF/microsphere/class-index"}, thus the class names could be read from one small
+ * resource rather than enumerating all {@link JarEntry entries} of the zip central directory.
+ * <p/>
+ * The format of resource is the UTF-8 text, the class names are grouped by their packages :
+ * <pre>
+ * # Microsphere Class Index
+ * package io.github.microsphere.commons.util
+ * io.github.microsphere.commons.util.ClassUtils
+ * io.github.microsphere.commons.util.ClassUtils$ClassPathIndexPoolHolder
+ * package io.github.microsphere.commons.util.jar
+ * io.github.microsphere.commons.util.jar.JarUtils
+ * </pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarClassIndexGenerator
+ * @since 1.0.0
+ */
+public class JarClassIndex {
+
+    /**
+     * The resource name of class index in {@link JarFile}
+     */
+    public static final String RESOURCE_NAME = "META-INF/microsphere/class-index";
+
+    private static final String HEADER = "# Microsphere Class Index";
+
+    private static final String COMMENT_PREFIX = "#";
+
+    private static final String PACKAGE_PREFIX = "package ";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Set<String> classNames;
+
+    private final Set<String> packageNames;
+
+    private JarClassIndex(Set<String> classNames, Set<String> packageNames) {
+        this.classNames = classNames;
+        this.packageNames = packageNames;
+    }
+
+    /**
+     * Create a {@link JarClassIndex} from the class names
+     *
+     * @param classNames the class names
+     * @return non-null
+     */
+    @Nonnull
+    public static JarClassIndex of(Collection<String> classNames) {
+        Map<String, Set<String>> packageNameToClassNames = new TreeMap<>();
+        for (String className : classNames) {
+            String packageName = StringUtils.substringBeforeLast(className, Constants.DOT);
+            Set<String> classNamesInPackage = packageNameToClassNames.get(packageName);
+            if (classNamesInPackage == null) {
+                classNamesInPackage = new TreeSet<>();
+                packageNameToClassNames.put(packageName, classNamesInPackage);
+            }
+            classNamesInPackage.add(className);
+        }
+        Set<String> sortedClassNames = new LinkedHashSet<>(classNames.size());
+        for (Set<String> classNamesInPackage : packageNameToClassNames.values()) {
+            sortedClassNames.addAll(classNamesInPackage);
+        }
+        return new JarClassIndex(Collections.unmodifiableSet(sortedClassNames),
+                Collections.unmodifiableSet(new LinkedHashSet<>(packageNameToClassNames.keySet())));
+    }
+
+    /**
+     * Read the {@link JarClassIndex} from the specified {@link JarFile}
+     *
+     * @param jarFile {@link JarFile}
+     * @return If the resource {@link #RESOURCE_NAME} is absent, return <code>null</code>
+     * @throws IOException If the resource can't be read
+     */
+    @Nullable
+    public static JarClassIndex read(JarFile jarFile) throws IOException {
+        JarEntry jarEntry = jarFile.getJarEntry(RESOURCE_NAME);
+        if (jarEntry == null) {
+            return null;
+        }
+        try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+            return read(inputStream);
+        }
+    }
+
+    /**
+     * Read the {@link JarClassIndex} from the {@link InputStream} of resource
+     *
+     * @param inputStream the {@link InputStream} of resource , it will not be closed
+     * @return non-null
+     * @throws IOException If the resource can't be read
+     */
+    @Nonnull
+    public static JarClassIndex read(InputStream inputStream) throws IOException {
+        Set<String> classNames = new LinkedHashSet<>();
+        Set<String> packageNames = new LinkedHashSet<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+            if (line.startsWith(PACKAGE_PREFIX)) {
+                packageNames.add(line.substring(PACKAGE_PREFIX.length()).trim());
+            } else {
+                classNames.add(line);
+            }
+        }
+        return new JarClassIndex(Collections.unmodifiableSet(classNames), Collections.unmodifiableSet(packageNames));
+    }
+
+    /**
+     * Write this index to the {@link OutputStream}
+     *
+     * @param outputStream {@link OutputStream}, it will not be closed
+     * @throws IOException If the index can't be written
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+        writer.write(HEADER);
+        writer.write('\n');
+        String currentPackageName = null;
+        for (String className : classNames) {
+            String packageName = StringUtils.substringBeforeLast(className, Constants.DOT);
+            if (!packageName.equals(currentPackageName)) {
+                writer.write(PACKAGE_PREFIX);
+                writer.write(packageName);
+                writer.write('\n');
+                currentPackageName = packageName;
+            }
+            writer.write(className);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Get all class names in the index
+     *
+     * @return Read-only {@link Set}
+     */
+    @Nonnull
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    /**
+     * Get all package names in the index
+     *
+     * @return Read-only {@link Set}
+     */
+    @Nonnull
+    public Set<String> getPackageNames() {
+        return packageNames;
+    }
+
+    /**
+     * Get the class names under the relative path of {@link JarFile}, as same as the class file entries scanned by
+     * {@link io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner}
+     *
+     * @param relativePath the relative path of {@link JarFile}, e.g "io/github/microsphere/"
+     * @param recursive    is recursive on the sub directories
+     * @return Read-only {@link Set}
+     */
+    @Nonnull
+    public Set<String> getClassNames(String relativePath, boolean recursive) {
+        if (recursive && StringUtils.isEmpty(relativePath)) {
+            return classNames;
+        }
+        Set<String> classNamesInPath = new LinkedHashSet<>();
+        for (String className : classNames) {
+            if (isInPath(toResourceName(className), relativePath, recursive)) {
+                classNamesInPath.add(className);
+            }
+        }
+        return Collections.unmodifiableSet(classNamesInPath);
+    }
+
+    /**
+     * Resolve the class name to the name of class file {@link JarEntry}
+     *
+     * @param className the class name
+     * @return e.g "java/lang/String.class"
+     */
+    @Nonnull
+    public static String toResourceName(String className) {
+        return StringUtils.replace(className, Constants.DOT, PathConstants.SLASH) + FileSuffixConstants.CLASS;
+    }
+
+    private static boolean isInPath(String resourceName, String relativePath, boolean recursive) {
+        if (!resourceName.startsWith(relativePath)) {
+            return false;
+        }
+        return recursive || resourceName.indexOf(PathConstants.SLASH, relativePath.length()) < 0;
+    }
+}
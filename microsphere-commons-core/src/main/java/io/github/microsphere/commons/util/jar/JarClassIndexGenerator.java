@@ -0,0 +1,89 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.util.ClassUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * The generator of {@link JarClassIndex} for the classes directory at build time, which should be executed after the
+ * compilation and before the packaging, e.g. the "process-classes" phase of Maven :
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *     &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;
+ *         &lt;execution&gt;
+ *             &lt;id&gt;microsphere-class-index&lt;/id&gt;
+ *             &lt;phase&gt;process-classes&lt;/phase&gt;
+ *             &lt;goals&gt;
+ *                 &lt;goal&gt;java&lt;/goal&gt;
+ *             &lt;/goals&gt;
+ *             &lt;configuration&gt;
+ *                 &lt;mainClass&gt;io.github.microsphere.commons.util.jar.JarClassIndexGenerator&lt;/mainClass&gt;
+ *                 &lt;arguments&gt;
+ *                     &lt;argument&gt;${project.build.outputDirectory}&lt;/argument&gt;
+ *                 &lt;/arguments&gt;
+ *             &lt;/configuration&gt;
+ *         &lt;/execution&gt;
+ *     &lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ * The class files are scanned rather than the source files, thus the nested, local and anonymous classes are indexed
+ * as same as they are enumerated from the {@link java.util.jar.JarFile}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarClassIndex
+ * @since 1.0.0
+ */
+public class JarClassIndexGenerator {
+
+    /**
+     * Generate the {@link JarClassIndex} into the classes directory
+     *
+     * @param classesDirectory the classes directory
+     * @return the generated {@link JarClassIndex}
+     * @throws IOException If the resource of index can't be written
+     */
+    public JarClassIndex generate(File classesDirectory) throws IOException {
+        Set<String> classNames = ClassUtils.findClassNamesInClassPath(classesDirectory.getAbsolutePath(), true);
+        JarClassIndex classIndex = JarClassIndex.of(classNames);
+        File resourceFile = new File(classesDirectory, JarClassIndex.RESOURCE_NAME);
+        File parentDirectory = resourceFile.getParentFile();
+        if (!parentDirectory.isDirectory() && !parentDirectory.mkdirs()) {
+            throw new IOException("The directory[" + parentDirectory + "] can't be created");
+        }
+        try (OutputStream outputStream = new FileOutputStream(resourceFile)) {
+            classIndex.write(outputStream);
+        }
+        return classIndex;
+    }
+
+    /**
+     * @param args the classes directories
+     * @throws IOException If the resource of index can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage : java " + JarClassIndexGenerator.class.getName() + " <classes directory>...");
+            System.exit(1);
+        }
+        JarClassIndexGenerator generator = new JarClassIndexGenerator();
+        for (String arg : args) {
+            File classesDirectory = new File(arg);
+            if (!classesDirectory.isDirectory()) {
+                System.err.println("The classes directory[" + classesDirectory + "] is not found , skipped");
+                continue;
+            }
+            JarClassIndex classIndex = generator.generate(classesDirectory);
+            System.out.printf("The class index of %d classes in %d packages was generated into the directory[%s]%n",
+                    classIndex.getClassNames().size(), classIndex.getPackageNames().size(), classesDirectory);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.constants.PathConstants;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The sorted index of the {@link JarEntry} names in one {@link JarFile}, the entries under a path are contiguous in
+ * the sorted names, thus the prefix and direct-children queries are the range lookups by the binary searches rather
+ * than the linear tests on all entries.
+ * <p/>
+ * The index is cached per the path of {@link JarFile} in the LRU cache whose max size is configured by {@link
+ * #CACHE_SIZE_PROPERTY_NAME}, and is valid until the length or the last modified time of jar file was changed.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarUtils
+ * @see io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner
+ * @since 1.0.0
+ */
+public class JarEntryIndex {
+
+    /**
+     * The name of the System Property for the max count of the cached {@link JarEntryIndex JarEntryIndexes}, the
+     * default value is 64
+     */
+    public static final String CACHE_SIZE_PROPERTY_NAME = "microsphere.jar.entry-index.cache.size";
+
+    static final int CACHE_SIZE = Math.max(1, Integer.getInteger(CACHE_SIZE_PROPERTY_NAME, 64));
+
+    /**
+     * The LRU cache of {@link JarEntryIndex JarEntryIndexes} per the path of {@link JarFile}, guarded by itself
+     */
+    private static final Map<String, JarEntryIndex> cache = new LinkedHashMap<String, JarEntryIndex>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JarEntryIndex> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final long length;
+
+    private final long lastModified;
+
+    /**
+     * The sorted names of entries
+     */
+    private final String[] entryNames;
+
+    private JarEntryIndex(long length, long lastModified, String[] entryNames) {
+        this.length = length;
+        this.lastModified = lastModified;
+        this.entryNames = entryNames;
+    }
+
+    /**
+     * Get the {@link JarEntryIndex} of {@link JarFile} from the cache, it will be built if absent or stale
+     *
+     * @param jarFile {@link JarFile}
+     * @return non-null
+     */
+    @Nonnull
+    public static JarEntryIndex get(JarFile jarFile) {
+        String path = jarFile.getName();
+        File file = new File(path);
+        long length = file.length();
+        long lastModified = file.lastModified();
+        JarEntryIndex jarEntryIndex;
+        synchronized (cache) {
+            jarEntryIndex = cache.get(path);
+        }
+        if (jarEntryIndex == null || jarEntryIndex.length != length || jarEntryIndex.lastModified != lastModified) {
+            // The index is built outside the lock, thus the different jar files are indexed concurrently
+            jarEntryIndex = new JarEntryIndex(length, lastModified, sortedEntryNames(jarFile));
+            synchronized (cache) {
+                if (lastModified > 0L) { // The file exists
+                    cache.put(path, jarEntryIndex);
+                } else {
+                    cache.remove(path);
+                }
+            }
+        }
+        return jarEntryIndex;
+    }
+
+    private static String[] sortedEntryNames(JarFile jarFile) {
+        try { // Only the central directory is read without creating the JarEntry objects
+            ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(new File(jarFile.getName()));
+            List<String> entryNames = new ArrayList<>(centralDirectory.size());
+            ZipCentralDirectory.Cursor cursor = centralDirectory.cursor();
+            while (cursor.next()) {
+                entryNames.add(cursor.getName());
+            }
+            return sort(entryNames.toArray(new String[entryNames.size()]));
+        } catch (IOException | RuntimeException e) {
+            // Fallback to the entries of JarFile
+        }
+        // The size of JarFile may be less than the actual count of entries, thus the list grows if needed
+        List<String> entryNames = new ArrayList<>(jarFile.size());
+        Enumeration<JarEntry> jarEntries = jarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+            entryNames.add(jarEntries.nextElement().getName());
+        }
+        return sort(entryNames.toArray(new String[entryNames.size()]));
+    }
+
+    private static String[] sort(String[] entryNames) {
+        Arrays.sort(entryNames);
+        return entryNames;
+    }
+
+    /**
+     * @return the count of entries
+     */
+    public int size() {
+        return entryNames.length;
+    }
+
+    /**
+     * @return the read-only sorted {@link List} of all entry names
+     */
+    @Nonnull
+    public List<String> getEntryNames() {
+        return Collections.unmodifiableList(Arrays.asList(entryNames));
+    }
+
+    /**
+     * Get the sorted entry names under the relative path, as same as the entries scanned by {@link
+     * io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner} without {@link
+     * io.github.microsphere.commons.filter.JarEntryFilter}
+     *
+     * @param relativePath the relative path of {@link JarFile}, e.g "io/github/microsphere/"
+     * @param recursive    If <code>true</code>, all entries starting with the relative path, or only the relative
+     *                     path itself and its direct children files
+     * @return Read-only sorted {@link List}
+     */
+    @Nonnull
+    public List<String> getEntryNames(String relativePath, boolean recursive) {
+        int fromIndex = startIndex(relativePath);
+        int toIndex = endIndex(relativePath, fromIndex, entryNames.length);
+        if (recursive) {
+            return Collections.unmodifiableList(Arrays.asList(entryNames).subList(fromIndex, toIndex));
+        }
+        List<String> entryNames = new ArrayList<>();
+        int prefixLength = relativePath.length();
+        int index = fromIndex;
+        while (index < toIndex) {
+            String entryName = this.entryNames[index];
+            int slashIndex = entryName.indexOf(PathConstants.SLASH, prefixLength);
+            if (slashIndex < 0) {
+                entryNames.add(entryName);
+                index++;
+            } else { // Skip the entries under the sub directory
+                index = endIndex(entryName.substring(0, slashIndex + 1), index, toIndex);
+            }
+        }
+        return Collections.unmodifiableList(entryNames);
+    }
+
+    /**
+     * @param entryName the name of entry
+     * @return <code>true</code> if present
+     */
+    public boolean contains(String entryName) {
+        return Arrays.binarySearch(entryNames, entryName) > -1;
+    }
+
+    /**
+     * @return the index of the first entry name which is not less than the prefix
+     */
+    private int startIndex(String prefix) {
+        int index = Arrays.binarySearch(entryNames, prefix);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * @return the index of the first entry name not starting with the prefix in the range, whose entry names starting
+     * with the prefix are at the beginning
+     */
+    private int endIndex(String prefix, int fromIndex, int toIndex) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entryNames[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
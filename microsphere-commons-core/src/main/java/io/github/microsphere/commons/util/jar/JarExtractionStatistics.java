@@ -0,0 +1,107 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statistics of one extraction by {@link JarExtractor}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarExtractor
+ * @since 1.0.0
+ */
+public class JarExtractionStatistics {
+
+    private final int files;
+
+    private final int directories;
+
+    private final long bytes;
+
+    private final long elapsedNanos;
+
+    private final int skippedFiles;
+
+    private final int deletedFiles;
+
+    public JarExtractionStatistics(int files, int directories, long bytes, long elapsedNanos) {
+        this(files, directories, bytes, elapsedNanos, 0, 0);
+    }
+
+    public JarExtractionStatistics(int files, int directories, long bytes, long elapsedNanos, int skippedFiles,
+                                   int deletedFiles) {
+        this.files = files;
+        this.directories = directories;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.skippedFiles = skippedFiles;
+        this.deletedFiles = deletedFiles;
+    }
+
+    /**
+     * @return the count of the extracted files
+     */
+    public int getFiles() {
+        return files;
+    }
+
+    /**
+     * @return the count of the created directories, including the existed ones
+     */
+    public int getDirectories() {
+        return directories;
+    }
+
+    /**
+     * @return the total size of the extracted files in bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the count of the unchanged files which were skipped by {@link JarExtractor#extractIncrementally the
+     * incremental extraction}
+     */
+    public int getSkippedFiles() {
+        return skippedFiles;
+    }
+
+    /**
+     * @return the count of the stale files which were deleted by {@link JarExtractor#extractIncrementally the
+     * incremental extraction}
+     */
+    public int getDeletedFiles() {
+        return deletedFiles;
+    }
+
+    /**
+     * @param timeUnit {@link TimeUnit}
+     * @return the elapsed time of extraction
+     */
+    public long getElapsedTime(TimeUnit timeUnit) {
+        return timeUnit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the throughput in bytes per second
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "JarExtractionStatistics{" +
+                "files=" + files +
+                ", directories=" + directories +
+                ", bytes=" + bytes +
+                ", elapsedMillis=" + getElapsedTime(TimeUnit.MILLISECONDS) +
+                ", bytesPerSecond=" + (long) getBytesPerSecond() +
+                ", skippedFiles=" + skippedFiles +
+                ", deletedFiles=" + deletedFiles +
+                '}';
+    }
+}
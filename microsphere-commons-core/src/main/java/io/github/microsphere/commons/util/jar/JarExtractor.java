@@ -0,0 +1,443 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.filter.JarEntryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * The parallel extractor of {@link JarFile}, the extraction is performed in two phases :
+ * <ol>
+ * <li>The directory tree of all entries is created once before writing any file</li>
+ * <li>The files are written concurrently by the bounded {@link ForkJoinPool}, the STORED entries of unsigned jar are
+ * transferred from the {@link FileChannel} of jar file by the zero-copy {@link FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel)}, and the others are read by {@link JarFile#getInputStream(ZipEntry)},
+ * thus the entries of signed jar are always verified</li>
+ * </ol>
+ * The throughput of each extraction is returned as {@link JarExtractionStatistics}.
+ * <p/>
+ * The {@link #extractIncrementally(File, File, JarEntryFilter) incremental extraction} records the CRC-32 and the size
+ * of the extracted entries into the {@link #MANIFEST_FILE_NAME manifest file} in the target directory, and rewrites
+ * the changed entries and deletes the stale files only in next time, thus the I/O is proportional to the difference.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarUtils#JAR_EXTRACT_PARALLELISM_PROPERTY_NAME
+ * @see JarExtractionStatistics
+ * @since 1.0.0
+ */
+public class JarExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JarExtractor.class);
+
+    /**
+     * The name of manifest file of the incremental extraction in the target directory
+     */
+    public static final String MANIFEST_FILE_NAME = ".jar-extraction.manifest";
+
+    private static final String META_INF_DIRECTORY = "META-INF/";
+
+    private static final String SIGNATURE_FILE_SUFFIX = ".SF";
+
+    private static final int MANIFEST_MAGIC = 0x4D534A45;
+
+    private static final int MANIFEST_VERSION = 1;
+
+    private final int parallelism;
+
+    /**
+     * @param parallelism the count of threads writing the files, <code>1</code> means the files are written in the
+     *                    caller thread one after another
+     */
+    public JarExtractor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive : " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Extract the source jar file to target directory with specified {@link JarEntryFilter}
+     *
+     * @param jarSourceFile   the source jar file
+     * @param targetDirectory target directory
+     * @param jarEntryFilter  {@link JarEntryFilter}, all entries will be extracted if <code>null</code>
+     * @return non-null {@link JarExtractionStatistics}
+     * @throws IOException When the source jar file is invalid, or any file can't be written, or any entry is outside
+     *                     the target directory
+     */
+    @Nonnull
+    public JarExtractionStatistics extract(File jarSourceFile, File targetDirectory, JarEntryFilter jarEntryFilter) throws IOException {
+        try (JarFileCache.Lease lease = JarUtils.acquireJarFile(jarSourceFile)) {
+            JarFile jarFile = lease.getJarFile();
+            return extract(jarFile, JarUtils.filter(jarFile, jarEntryFilter), targetDirectory);
+        }
+    }
+
+    /**
+     * Extract the {@link JarEntry jar entries} of {@link JarFile} to target directory
+     *
+     * @param jarFile         {@link JarFile}
+     * @param jarEntries      the {@link JarEntry jar entries} of {@link JarFile}
+     * @param targetDirectory target directory
+     * @return non-null {@link JarExtractionStatistics}
+     * @throws IOException When any file can't be written, or any entry is outside the target directory
+     */
+    @Nonnull
+    public JarExtractionStatistics extract(final JarFile jarFile, Iterable<JarEntry> jarEntries, File targetDirectory) throws IOException {
+        long startTime = System.nanoTime();
+        targetDirectory = targetDirectory.getCanonicalFile();
+        // Phase 1 : create the directory tree once
+        Set<File> directories = new LinkedHashSet<>();
+        final List<JarEntry> fileEntries = new ArrayList<>();
+        boolean hasStoredEntry = false;
+        for (JarEntry jarEntry : jarEntries) {
+            File targetFile = resolveTargetFile(targetDirectory, jarEntry.getName());
+            if (jarEntry.isDirectory()) {
+                directories.add(targetFile);
+            } else {
+                fileEntries.add(jarEntry);
+                directories.add(targetFile.getParentFile());
+                hasStoredEntry |= jarEntry.getMethod() == ZipEntry.STORED;
+            }
+        }
+        for (File directory : directories) {
+            Files.createDirectories(directory.toPath());
+        }
+
+        // Phase 2 : write the files concurrently
+        File jarSourceFile = new File(jarFile.getName());
+        final Map<String, Long> storedEntryOffsets = hasStoredEntry ?
+                locateStoredEntries(jarSourceFile) : Collections.<String, Long>emptyMap();
+        long bytes = 0;
+        try (final FileChannel sourceChannel = FileChannel.open(jarSourceFile.toPath(), StandardOpenOption.READ)) {
+            if (parallelism == 1 || fileEntries.size() < 2) {
+                for (JarEntry jarEntry : fileEntries) {
+                    bytes += extract(jarFile, sourceChannel, storedEntryOffsets, jarEntry, targetDirectory);
+                }
+            } else {
+                bytes = extractConcurrently(jarFile, sourceChannel, storedEntryOffsets, fileEntries, targetDirectory);
+            }
+        }
+
+        JarExtractionStatistics statistics = new JarExtractionStatistics(fileEntries.size(), directories.size(), bytes,
+                System.nanoTime() - startTime);
+        if (logger.isDebugEnabled()) {
+            logger.debug("The jar file[{}] was extracted to the directory[{}] : {}", jarFile.getName(), targetDirectory, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Extract the source jar file to target directory incrementally with specified {@link JarEntryFilter}, the entry
+     * is rewritten only if its CRC-32 or size in the central directory differs from the {@link #MANIFEST_FILE_NAME
+     * manifest file} of last extraction, or its target file is absent or resized, and the files of last extraction
+     * which are absent in current one will be deleted. If the manifest file is absent or invalid, all entries will be
+     * extracted.
+     *
+     * @param jarSourceFile   the source jar file
+     * @param targetDirectory target directory
+     * @param jarEntryFilter  {@link JarEntryFilter}, all entries will be extracted if <code>null</code>
+     * @return non-null {@link JarExtractionStatistics}
+     * @throws IOException When the source jar file is invalid, or any file can't be written or deleted, or any entry
+     *                     is outside the target directory
+     */
+    @Nonnull
+    public JarExtractionStatistics extractIncrementally(File jarSourceFile, File targetDirectory,
+                                                        JarEntryFilter jarEntryFilter) throws IOException {
+        long startTime = System.nanoTime();
+        targetDirectory = targetDirectory.getCanonicalFile();
+        File manifestFile = new File(targetDirectory, MANIFEST_FILE_NAME);
+        Map<String, long[]> previousEntries = readManifest(manifestFile);
+        Map<String, long[]> currentEntries = new LinkedHashMap<>();
+        List<JarEntry> changedEntries = new ArrayList<>();
+        int skippedFiles = 0;
+        JarExtractionStatistics statistics;
+        try (JarFileCache.Lease lease = JarUtils.acquireJarFile(jarSourceFile)) {
+            JarFile jarFile = lease.getJarFile();
+            for (JarEntry jarEntry : JarUtils.filter(jarFile, jarEntryFilter)) {
+                if (jarEntry.isDirectory()) {
+                    changedEntries.add(jarEntry);
+                    continue;
+                }
+                // The CRC-32 and size of JarEntry are read from the central directory
+                long[] crcAndSize = {jarEntry.getCrc(), jarEntry.getSize()};
+                currentEntries.put(jarEntry.getName(), crcAndSize);
+                long[] previous = previousEntries.get(jarEntry.getName());
+                File targetFile = resolveTargetFile(targetDirectory, jarEntry.getName());
+                if (previous != null && Arrays.equals(previous, crcAndSize) && targetFile.length() == crcAndSize[1]
+                        && targetFile.isFile()) {
+                    skippedFiles++;
+                } else {
+                    changedEntries.add(jarEntry);
+                }
+            }
+            // The manifest is removed before writing, thus the interrupted extraction will be fully redone next time
+            Files.deleteIfExists(manifestFile.toPath());
+            statistics = extract(jarFile, changedEntries, targetDirectory);
+        }
+
+        int deletedFiles = 0;
+        for (String name : previousEntries.keySet()) {
+            if (!currentEntries.containsKey(name) && deleteStaleFile(targetDirectory, name)) {
+                deletedFiles++;
+            }
+        }
+        Files.createDirectories(targetDirectory.toPath());
+        writeManifest(manifestFile, currentEntries);
+
+        statistics = new JarExtractionStatistics(statistics.getFiles(), statistics.getDirectories(),
+                statistics.getBytes(), System.nanoTime() - startTime, skippedFiles, deletedFiles);
+        if (logger.isDebugEnabled()) {
+            logger.debug("The jar file[{}] was extracted to the directory[{}] incrementally : {}", jarSourceFile,
+                    targetDirectory, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Resolve the target file of the entry, which must be inside the target directory
+     *
+     * @param targetDirectory the canonical target directory
+     * @param name            the name of entry
+     * @return non-null
+     * @throws ZipException If the entry escapes from the target directory, e.g "../file" or "/file"
+     */
+    private static File resolveTargetFile(File targetDirectory, String name) throws ZipException {
+        Path path = resolveTargetPath(targetDirectory, name);
+        if (path == null) {
+            throw new ZipException("The entry[" + name + "] is outside the target directory[" + targetDirectory + "]");
+        }
+        return path.toFile();
+    }
+
+    /**
+     * @param targetDirectory the canonical target directory
+     * @param name            the name of entry
+     * @return the normalized {@link Path} of entry, or <code>null</code> if it's outside the target directory
+     */
+    private static Path resolveTargetPath(File targetDirectory, String name) {
+        Path directory = targetDirectory.toPath();
+        try {
+            Path path = directory.resolve(name).normalize();
+            return path.startsWith(directory) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Delete the stale file and its parent directories which become empty
+     *
+     * @return <code>true</code> if the file was deleted
+     */
+    private boolean deleteStaleFile(File targetDirectory, String name) throws IOException {
+        Path path = resolveTargetPath(targetDirectory, name);
+        if (path == null) {
+            // The manifest file may be tampered, the file outside the target directory is never deleted
+            logger.warn("The stale entry[{}] in the manifest file is outside the target directory[{}], it's ignored",
+                    name, targetDirectory);
+            return false;
+        }
+        File file = path.toFile();
+        if (!Files.deleteIfExists(file.toPath())) {
+            return false;
+        }
+        File directory = file.getParentFile();
+        while (directory != null && !directory.equals(targetDirectory)) {
+            String[] children = directory.list();
+            if (children == null || children.length > 0 || !directory.delete()) {
+                break;
+            }
+            directory = directory.getParentFile();
+        }
+        return true;
+    }
+
+    /**
+     * The binary format of manifest file (big-endian, the strings are in the modified UTF-8) :
+     * <pre>
+     * int    magic
+     * int    version
+     * int    the count of files, and each file :
+     *   String the name of entry
+     *   long   the CRC-32 of entry
+     *   long   the size of entry
+     * </pre>
+     *
+     * @return non-null, empty if the manifest file is absent or invalid
+     */
+    private Map<String, long[]> readManifest(File manifestFile) {
+        if (!manifestFile.isFile()) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile.toPath())))) {
+            if (inputStream.readInt() != MANIFEST_MAGIC || inputStream.readInt() != MANIFEST_VERSION) {
+                return Collections.emptyMap();
+            }
+            int count = inputStream.readInt();
+            Map<String, long[]> entries = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                entries.put(inputStream.readUTF(), new long[]{inputStream.readLong(), inputStream.readLong()});
+            }
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("The manifest file[{}] of jar extraction can't be read", manifestFile, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private void writeManifest(File manifestFile, Map<String, long[]> entries) throws IOException {
+        Path tempFile = Files.createTempFile(manifestFile.getParentFile().toPath(), MANIFEST_FILE_NAME, null);
+        try {
+            try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                outputStream.writeInt(MANIFEST_MAGIC);
+                outputStream.writeInt(MANIFEST_VERSION);
+                outputStream.writeInt(entries.size());
+                for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+                    outputStream.writeUTF(entry.getKey());
+                    outputStream.writeLong(entry.getValue()[0]);
+                    outputStream.writeLong(entry.getValue()[1]);
+                }
+            }
+            try {
+                Files.move(tempFile, manifestFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private long extractConcurrently(final JarFile jarFile, final FileChannel sourceChannel,
+                                     final Map<String, Long> storedEntryOffsets, List<JarEntry> fileEntries,
+                                     final File targetDirectory) throws IOException {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(Math.min(parallelism, fileEntries.size()));
+        try {
+            List<Future<Long>> futures = new ArrayList<>(fileEntries.size());
+            for (final JarEntry jarEntry : fileEntries) {
+                futures.add(forkJoinPool.submit(() -> extract(jarFile, sourceChannel, storedEntryOffsets, jarEntry, targetDirectory)));
+            }
+            long bytes = 0;
+            for (Future<Long> future : futures) {
+                bytes += future.get();
+            }
+            return bytes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The extraction of jar file[" + jarFile.getName() + "] was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("The extraction of jar file[" + jarFile.getName() + "] was failed", cause);
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the size of the extracted file
+     */
+    private long extract(JarFile jarFile, FileChannel sourceChannel, Map<String, Long> storedEntryOffsets,
+                         JarEntry jarEntry, File targetDirectory) throws IOException {
+        Path targetPath = resolveTargetFile(targetDirectory, jarEntry.getName()).toPath();
+        Long localHeaderOffset = storedEntryOffsets.get(jarEntry.getName());
+        if (localHeaderOffset != null) { // STORED
+            long position = ZipCentralDirectory.readDataOffset(sourceChannel, localHeaderOffset);
+            long size = jarEntry.getSize();
+            try (FileChannel targetChannel = FileChannel.open(targetPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long transferred = 0;
+                while (transferred < size) {
+                    long count = sourceChannel.transferTo(position + transferred, size - transferred, targetChannel);
+                    if (count <= 0) {
+                        throw new IOException("The entry[" + jarEntry.getName() + "] of jar file[" + jarFile.getName()
+                                + "] is truncated");
+                    }
+                    transferred += count;
+                }
+                return transferred;
+            }
+        }
+        try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+            return Files.copy(inputStream, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Locate the local file headers of the STORED entries by the central directory
+     *
+     * @return the offsets of the local file headers of the STORED entries, or empty if the central directory can't be
+     * read or the jar file is signed, then they will be read and verified by {@link JarFile}
+     */
+    private Map<String, Long> locateStoredEntries(File jarSourceFile) {
+        Map<String, Long> storedEntryOffsets = new HashMap<>();
+        try {
+            ZipCentralDirectory.Cursor cursor = ZipCentralDirectory.read(jarSourceFile).cursor();
+            while (cursor.next()) {
+                if (isSignatureFile(cursor)) { // The zero-copy transfers would bypass the verification
+                    return Collections.emptyMap();
+                }
+                if (cursor.getMethod() == ZipEntry.STORED && !cursor.isDirectory()) {
+                    storedEntryOffsets.put(cursor.getName(), cursor.getLocalHeaderOffset());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("The central directory of jar file[{}] can't be read", jarSourceFile, e);
+            return Collections.emptyMap();
+        }
+        return storedEntryOffsets;
+    }
+
+    /**
+     * @return <code>true</code> if the current record of cursor is the signature file of signed jar, e.g
+     * "META-INF/SIGNER.SF"
+     */
+    private static boolean isSignatureFile(ZipCentralDirectory.Cursor cursor) {
+        return cursor.nameStartsWith(META_INF_DIRECTORY) && cursor.nameIndexOf('/', META_INF_DIRECTORY.length()) < 0
+                && (cursor.nameEndsWith(SIGNATURE_FILE_SUFFIX) || cursor.nameEndsWith(SIGNATURE_FILE_SUFFIX.toLowerCase()));
+    }
+
+    /**
+     * @return the count of threads writing the files
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+}
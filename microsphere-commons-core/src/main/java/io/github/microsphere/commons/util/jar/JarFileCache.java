@@ -0,0 +1,373 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarFile;
+
+/**
+ * The shared and bounded cache of the opened {@link JarFile JarFiles}, which are keyed by their canonical paths and
+ * are borrowed by the reference-counted {@link Lease leases}, e.g :
+ * <pre>
+ * try (JarFileCache.Lease lease = jarFileCache.acquire(file)) {
+ *     JarEntry jarEntry = lease.getJarFile().getJarEntry(name);
+ * }
+ * </pre>
+ * The {@link JarFile} is closed when it's not leased and :
+ * <ul>
+ * <li>it was idle (not leased) longer than the idle timeout</li>
+ * <li>it's the least recently used one, and the size of cache exceeds the max size</li>
+ * <li>the jar file was changed, i.e. the length or the last modified time</li>
+ * </ul>
+ * The leased {@link JarFile JarFiles} are never closed by the cache, thus the max size may be exceeded temporarily.
+ * The eviction is performed on acquiring and releasing, and the idle ones are also evicted by the shared daemon thread
+ * periodically, thus the idle {@link JarFile JarFiles} are closed even if no jar file is touched any more.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarUtils#getJarFileCache()
+ * @see JarFileCacheStatistics
+ * @since 1.0.0
+ */
+public class JarFileCache implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JarFileCache.class);
+
+    /**
+     * The min period of the background idle eviction
+     */
+    private static final long MIN_IDLE_EVICTION_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxSize;
+
+    private final long idleTimeoutNanos;
+
+    /**
+     * The cached {@link JarFile JarFiles} in the access order, guarded by itself
+     */
+    private final Map<String, CachedJarFile> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder opens = new LongAdder();
+
+    private final LongAdder closes = new LongAdder();
+
+    /**
+     * The scheduled background idle eviction, which is scheduled when the first {@link JarFile} is cached, guarded by
+     * {@link #cache}
+     */
+    private ScheduledFuture<?> idleEvictionFuture;
+
+    /**
+     * @param maxSize     the max size of cached {@link JarFile JarFiles}
+     * @param idleTimeout the timeout of idle {@link JarFile JarFiles}
+     * @param timeUnit    the {@link TimeUnit} of idle timeout
+     */
+    public JarFileCache(int maxSize, long idleTimeout, TimeUnit timeUnit) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The max size must not be negative : " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = timeUnit.toNanos(idleTimeout);
+    }
+
+    /**
+     * Acquire the {@link Lease} of the shared {@link JarFile}, which will be opened if absent or stale
+     *
+     * @param file the jar file
+     * @return non-null {@link Lease}, which must be {@link Lease#close() closed} after use
+     * @throws IOException If the jar file can't be opened
+     */
+    @Nonnull
+    public Lease acquire(File file) throws IOException {
+        File canonicalFile = file.getCanonicalFile();
+        String path = canonicalFile.getPath();
+        long length = canonicalFile.length();
+        long lastModified = canonicalFile.lastModified();
+        List<CachedJarFile> closingJarFiles = new ArrayList<>();
+        CachedJarFile cachedJarFile;
+        try {
+            synchronized (cache) {
+                cachedJarFile = lease(path, length, lastModified, closingJarFiles);
+            }
+            if (cachedJarFile == null) {
+                misses.increment();
+                // Open the JarFile without holding the lock
+                CachedJarFile openedJarFile = new CachedJarFile(path, new JarFile(canonicalFile), length, lastModified);
+                opens.increment();
+                synchronized (cache) {
+                    cachedJarFile = lease(path, length, lastModified, closingJarFiles);
+                    if (cachedJarFile == null) {
+                        openedJarFile.references = 1;
+                        cache.put(path, openedJarFile);
+                        scheduleIdleEviction();
+                        cachedJarFile = openedJarFile;
+                    } else { // Opened by another thread concurrently
+                        closingJarFiles.add(openedJarFile);
+                    }
+                    evict(System.nanoTime(), closingJarFiles);
+                }
+            } else {
+                hits.increment();
+            }
+        } finally { // The stale JarFiles are closed even if the new one can't be opened
+            close(closingJarFiles);
+        }
+        return new Lease(cachedJarFile);
+    }
+
+    /**
+     * Lease the cached {@link JarFile} if present and not stale, the lock must be held
+     */
+    private CachedJarFile lease(String path, long length, long lastModified, List<CachedJarFile> closingJarFiles) {
+        CachedJarFile cachedJarFile = cache.get(path);
+        if (cachedJarFile == null) {
+            return null;
+        }
+        if (cachedJarFile.length != length || cachedJarFile.lastModified != lastModified) { // Stale
+            cache.remove(path);
+            cachedJarFile.retired = true;
+            if (cachedJarFile.references == 0) {
+                closingJarFiles.add(cachedJarFile);
+            }
+            return null;
+        }
+        cachedJarFile.references++;
+        return cachedJarFile;
+    }
+
+    /**
+     * Schedule the background idle eviction if absent, the lock must be held
+     */
+    private void scheduleIdleEviction() {
+        if (idleEvictionFuture == null && idleTimeoutNanos > 0) {
+            long period = Math.max(idleTimeoutNanos, MIN_IDLE_EVICTION_PERIOD_NANOS);
+            IdleEvictionTask task = new IdleEvictionTask(this);
+            idleEvictionFuture = IdleEvictorHolder.scheduler.scheduleWithFixedDelay(task, period, period, TimeUnit.NANOSECONDS);
+            task.future = idleEvictionFuture;
+        }
+    }
+
+    private void release(CachedJarFile cachedJarFile) {
+        List<CachedJarFile> closingJarFiles = new ArrayList<>(1);
+        synchronized (cache) {
+            long now = System.nanoTime();
+            cachedJarFile.lastReleasedTime = now;
+            if (--cachedJarFile.references == 0 && cachedJarFile.retired) {
+                closingJarFiles.add(cachedJarFile);
+            }
+            evict(now, closingJarFiles);
+        }
+        close(closingJarFiles);
+    }
+
+    /**
+     * Evict the idle {@link JarFile JarFiles} in the least recently used order, the lock must be held
+     */
+    private void evict(long now, List<CachedJarFile> closingJarFiles) {
+        int size = cache.size();
+        Iterator<CachedJarFile> iterator = cache.values().iterator();
+        while (iterator.hasNext()) {
+            CachedJarFile cachedJarFile = iterator.next();
+            if (cachedJarFile.references == 0 &&
+                    (size > maxSize || now - cachedJarFile.lastReleasedTime >= idleTimeoutNanos)) {
+                iterator.remove();
+                size--;
+                closingJarFiles.add(cachedJarFile);
+            }
+        }
+    }
+
+    private void close(List<CachedJarFile> closingJarFiles) {
+        for (CachedJarFile cachedJarFile : closingJarFiles) {
+            try {
+                cachedJarFile.jarFile.close();
+            } catch (IOException e) {
+                logger.warn("The JarFile[path : {}] can't be closed", cachedJarFile.path, e);
+            }
+            closes.increment();
+        }
+    }
+
+    /**
+     * Close the idle {@link JarFile JarFiles} which are timeout
+     */
+    public void evictIdle() {
+        List<CachedJarFile> closingJarFiles = new ArrayList<>();
+        synchronized (cache) {
+            evict(System.nanoTime(), closingJarFiles);
+        }
+        close(closingJarFiles);
+    }
+
+    /**
+     * @return the count of cached {@link JarFile JarFiles}
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return the snapshot of statistics
+     */
+    @Nonnull
+    public JarFileCacheStatistics getStatistics() {
+        long opens = this.opens.sum();
+        long closes = this.closes.sum();
+        return new JarFileCacheStatistics(hits.sum(), misses.sum(), opens, opens - closes);
+    }
+
+    /**
+     * Close all {@link JarFile JarFiles} which are not leased, and retire the leased ones, which will be closed on
+     * release
+     */
+    @Override
+    public void close() {
+        List<CachedJarFile> closingJarFiles = new ArrayList<>();
+        synchronized (cache) {
+            for (CachedJarFile cachedJarFile : cache.values()) {
+                cachedJarFile.retired = true;
+                if (cachedJarFile.references == 0) {
+                    closingJarFiles.add(cachedJarFile);
+                }
+            }
+            cache.clear();
+            if (idleEvictionFuture != null) {
+                idleEvictionFuture.cancel(false);
+                idleEvictionFuture = null;
+            }
+        }
+        close(closingJarFiles);
+    }
+
+    private static class CachedJarFile {
+
+        private final String path;
+
+        private final JarFile jarFile;
+
+        private final long length;
+
+        private final long lastModified;
+
+        private int references;
+
+        private long lastReleasedTime;
+
+        /**
+         * The {@link JarFile} was removed from the cache, and will be closed when it's not leased
+         */
+        private boolean retired;
+
+        CachedJarFile(String path, JarFile jarFile, long length, long lastModified) {
+            this.path = path;
+            this.jarFile = jarFile;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.lastReleasedTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * The task of the background idle eviction, which doesn't prevent the {@link JarFileCache} from being garbage
+     * collected, and cancels itself after that
+     */
+    private static class IdleEvictionTask implements Runnable {
+
+        private final WeakReference<JarFileCache> jarFileCacheReference;
+
+        private volatile ScheduledFuture<?> future;
+
+        IdleEvictionTask(JarFileCache jarFileCache) {
+            this.jarFileCacheReference = new WeakReference<>(jarFileCache);
+        }
+
+        @Override
+        public void run() {
+            JarFileCache jarFileCache = jarFileCacheReference.get();
+            if (jarFileCache == null) {
+                ScheduledFuture<?> future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            try {
+                jarFileCache.evictIdle();
+            } catch (RuntimeException e) { // The next executions must not be suppressed
+                logger.warn("The idle JarFiles can't be evicted", e);
+            }
+        }
+    }
+
+    /**
+     * The holder of the daemon scheduler shared by all {@link JarFileCache JarFileCaches}, which will be created on
+     * first scheduling
+     */
+    private static class IdleEvictorHolder {
+
+        private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "microsphere-jar-file-cache-idle-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The lease of the shared {@link JarFile}, which should not be closed by the lessee directly
+     */
+    public class Lease implements Closeable {
+
+        private final CachedJarFile cachedJarFile;
+
+        private boolean released;
+
+        private Lease(CachedJarFile cachedJarFile) {
+            this.cachedJarFile = cachedJarFile;
+        }
+
+        /**
+         * @return the shared {@link JarFile}
+         */
+        @Nonnull
+        public JarFile getJarFile() {
+            return cachedJarFile.jarFile;
+        }
+
+        /**
+         * Release the lease, it's idempotent
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(cachedJarFile);
+        }
+    }
+}
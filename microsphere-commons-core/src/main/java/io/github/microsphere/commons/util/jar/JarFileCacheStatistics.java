@@ -0,0 +1,68 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+/**
+ * The snapshot of statistics of {@link JarFileCache}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarFileCache#getStatistics()
+ * @since 1.0.0
+ */
+public class JarFileCacheStatistics {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long opens;
+
+    private final long openJarFiles;
+
+    public JarFileCacheStatistics(long hits, long misses, long opens, long openJarFiles) {
+        this.hits = hits;
+        this.misses = misses;
+        this.opens = opens;
+        this.openJarFiles = openJarFiles;
+    }
+
+    /**
+     * @return the count of acquisitions which reused the cached {@link java.util.jar.JarFile}
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the count of acquisitions which opened the {@link java.util.jar.JarFile}
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the total count of opened {@link java.util.jar.JarFile JarFiles}, including the ones opened by the
+     * concurrent acquisitions and closed at once
+     */
+    public long getOpens() {
+        return opens;
+    }
+
+    /**
+     * @return the count of {@link java.util.jar.JarFile JarFiles} which are still open
+     */
+    public long getOpenJarFiles() {
+        return openJarFiles;
+    }
+
+    @Override
+    public String toString() {
+        return "JarFileCacheStatistics{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", opens=" + opens +
+                ", openJarFiles=" + openJarFiles +
+                '}';
+    }
+}
@@ -9,16 +9,17 @@ import io.github.microsphere.commons.constants.ProtocolConstants;
 import io.github.microsphere.commons.constants.SeparatorConstants;
 import io.github.microsphere.commons.filter.JarEntryFilter;
 import io.github.microsphere.commons.net.URLUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import java.io.*;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -33,12 +34,36 @@ import java.util.jar.JarFile;
  */
 public class JarUtils {
 
+    /**
+     * The name of the System Property for the max size of {@link JarFileCache the shared JarFile cache}
+     */
+    public static final String JAR_FILE_CACHE_SIZE_PROPERTY_NAME = "microsphere.jar-file.cache.size";
+
+    /**
+     * The name of the System Property for the idle timeout in milliseconds of {@link JarFileCache the shared JarFile
+     * cache}
+     */
+    public static final String JAR_FILE_CACHE_IDLE_TIMEOUT_PROPERTY_NAME = "microsphere.jar-file.cache.idle-timeout";
+
+    /**
+     * The name of the System Property for the parallelism of {@link JarExtractor the extraction}, the default value is
+     * the number of the available processors
+     */
+    public static final String JAR_EXTRACT_PARALLELISM_PROPERTY_NAME = "microsphere.jar.extract.parallelism";
+
+    private static final JarExtractor jarExtractor = new JarExtractor(Math.max(1, Integer.getInteger(JAR_EXTRACT_PARALLELISM_PROPERTY_NAME,
+            Runtime.getRuntime().availableProcessors())));
+
+    private static final JarFileCache jarFileCache = new JarFileCache(Integer.getInteger(JAR_FILE_CACHE_SIZE_PROPERTY_NAME, 64),
+            Long.getLong(JAR_FILE_CACHE_IDLE_TIMEOUT_PROPERTY_NAME, TimeUnit.MINUTES.toMillis(1)), TimeUnit.MILLISECONDS);
+
     /**
      * Create a {@link JarFile} from specified {@link URL} of {@link JarFile}
      *
      * @param jarURL
      *         {@link URL} of {@link JarFile} or {@link JarEntry}
-     * @return JarFile
+     * @return JarFile, which is owned by the caller and should be closed, or see {@link #acquireJarFile(URL)} for the
+     * shared one
      * @throws IOException
      *         If {@link JarFile jar file} is invalid, see {@link JarFile#JarFile(String)}
      * @version 1.0.0
@@ -53,6 +78,51 @@ public class JarUtils {
         return jarFile;
     }
 
+    /**
+     * Acquire the {@link JarFileCache.Lease lease} of the shared {@link JarFile} from specified {@link URL} of {@link
+     * JarFile}, which is opened once and reused until it's evicted from {@link #getJarFileCache() the cache}
+     *
+     * @param jarURL
+     *         {@link URL} of {@link JarFile} or {@link JarEntry}
+     * @return {@link JarFileCache.Lease} which must be closed after use
+     * @throws IOException
+     *         If the path of {@link JarFile jar file} can't be resolved or {@link JarFile jar file} is invalid
+     * @see JarFileCache#acquire(File)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static JarFileCache.Lease acquireJarFile(URL jarURL) throws IOException {
+        final String jarAbsolutePath = resolveJarAbsolutePath(jarURL);
+        if (jarAbsolutePath == null) {
+            throw new FileNotFoundException("The jar file can't be resolved from " + jarURL);
+        }
+        return jarFileCache.acquire(new File(jarAbsolutePath));
+    }
+
+    /**
+     * Acquire the {@link JarFileCache.Lease lease} of the shared {@link JarFile}
+     *
+     * @param jarFile
+     *         the jar file
+     * @return non-null {@link JarFileCache.Lease} which must be closed after use
+     * @throws IOException
+     *         If {@link JarFile jar file} is invalid
+     * @see JarFileCache#acquire(File)
+     * @since 1.0.0
+     */
+    @Nonnull
+    public static JarFileCache.Lease acquireJarFile(File jarFile) throws IOException {
+        return jarFileCache.acquire(jarFile);
+    }
+
+    /**
+     * @return the shared {@link JarFileCache}
+     */
+    @Nonnull
+    public static JarFileCache getJarFileCache() {
+        return jarFileCache;
+    }
+
     /**
      * Assert <code>jarURL</code> argument is valid , only supported protocols : {@link ProtocolConstants#JAR jar} and
      * {@link ProtocolConstants#FILE file}
@@ -151,12 +221,14 @@ public class JarUtils {
      * @param jarURL
      *         jar resource url
      * @return If found , return {@link JarEntry}
+     * @throws IOException
+     *         If the path of {@link JarFile jar file} can't be resolved or {@link JarFile jar file} is invalid
      */
     public static JarEntry findJarEntry(URL jarURL) throws IOException {
-        JarFile jarFile = JarUtils.toJarFile(jarURL);
         final String relativePath = JarUtils.resolveRelativePath(jarURL);
-        JarEntry jarEntry = jarFile.getJarEntry(relativePath);
-        return jarEntry;
+        try (JarFileCache.Lease lease = acquireJarFile(jarURL)) {
+            return lease.getJarFile().getJarEntry(relativePath);
+        }
     }
 
 
@@ -187,10 +259,29 @@ public class JarUtils {
      *         When the source jar file is an invalid {@link JarFile}
      */
     public static void extract(File jarSourceFile, File targetDirectory, JarEntryFilter jarEntryFilter) throws IOException {
+        try (JarFileCache.Lease lease = acquireJarFile(jarSourceFile)) {
+            extract(lease.getJarFile(), targetDirectory, jarEntryFilter);
+        }
+    }
 
-        final JarFile jarFile = new JarFile(jarSourceFile);
-
-        extract(jarFile, targetDirectory, jarEntryFilter);
+    /**
+     * Extract the source {@link JarFile} to target directory with specified {@link JarEntryFilter} incrementally, only
+     * the changed entries since last extraction are rewritten, and the stale files are deleted
+     *
+     * @param jarSourceFile
+     *         the source {@link JarFile}
+     * @param targetDirectory
+     *         target directory
+     * @param jarEntryFilter
+     *         {@link JarEntryFilter}
+     * @return non-null {@link JarExtractionStatistics}
+     * @throws IOException
+     *         When the source jar file is an invalid {@link JarFile}
+     * @see JarExtractor#extractIncrementally(File, File, JarEntryFilter)
+     */
+    public static JarExtractionStatistics extractIncrementally(File jarSourceFile, File targetDirectory,
+                                                               JarEntryFilter jarEntryFilter) throws IOException {
+        return jarExtractor.extractIncrementally(jarSourceFile, targetDirectory, jarEntryFilter);
     }
 
     /**
@@ -220,56 +311,41 @@ public class JarUtils {
      * @param jarEntryFilter
      *         {@link JarEntryFilter}
      * @throws IOException
-     *         When the source jar file is an invalid {@link JarFile}
+     *         When the source jar file can't be resolved or is an invalid {@link JarFile}
      */
     public static void extract(URL jarResourceURL, File targetDirectory, JarEntryFilter jarEntryFilter) throws IOException {
-        final JarFile jarFile = JarUtils.toJarFile(jarResourceURL);
         final String relativePath = JarUtils.resolveRelativePath(jarResourceURL);
-        final JarEntry jarEntry = jarFile.getJarEntry(relativePath);
-        final boolean isDirectory = jarEntry.isDirectory();
-        List<JarEntry> jarEntriesList = filter(jarFile, new JarEntryFilter() {
-            @Override
-            public boolean accept(JarEntry filteredObject) {
-                String name = filteredObject.getName();
-                if (isDirectory && name.equals(relativePath)) {
-                    return true;
-                } else return name.startsWith(relativePath);
+        try (JarFileCache.Lease lease = acquireJarFile(jarResourceURL)) {
+            final JarFile jarFile = lease.getJarFile();
+            // The entries under the relative path are located by the range lookup on the sorted index
+            List<String> jarEntryNames = JarEntryIndex.get(jarFile).getEntryNames(relativePath, true);
+            List<JarEntry> jarEntriesList = new ArrayList<>(jarEntryNames.size());
+            for (String jarEntryName : jarEntryNames) {
+                JarEntry jarEntry = jarFile.getJarEntry(jarEntryName);
+                if (jarEntry != null && (jarEntryFilter == null || jarEntryFilter.accept(jarEntry))) {
+                    jarEntriesList.add(jarEntry);
+                }
             }
-        });
 
-        jarEntriesList = doFilter(jarEntriesList, jarEntryFilter);
-
-        doExtract(jarFile, jarEntriesList, targetDirectory);
+            doExtract(jarFile, jarEntriesList, targetDirectory);
+        }
     }
 
+    /**
+     * Extract the {@link JarEntry jar entries} by {@link #getJarExtractor() the shared parallel extractor}
+     */
     protected static void doExtract(JarFile jarFile, Iterable<JarEntry> jarEntries, File targetDirectory) throws IOException {
         if (jarEntries != null) {
-            for (JarEntry jarEntry : jarEntries) {
-                String jarEntryName = jarEntry.getName();
-                File targetFile = new File(targetDirectory, jarEntryName);
-                if (jarEntry.isDirectory()) {
-                    targetFile.mkdirs();
-                } else {
-                    InputStream inputStream = null;
-                    OutputStream outputStream = null;
-                    try {
-                        inputStream = jarFile.getInputStream(jarEntry);
-                        if (inputStream != null) {
-                            File parentFile = targetFile.getParentFile();
-                            if (!parentFile.exists()) {
-                                parentFile.mkdirs();
-                            }
-                            outputStream = new FileOutputStream(targetFile);
-                            IOUtils.copy(inputStream, outputStream);
-                        }
-                    } finally {
-                        IOUtils.closeQuietly(outputStream);
-                        IOUtils.closeQuietly(inputStream);
-                    }
-                }
-            }
+            jarExtractor.extract(jarFile, jarEntries, targetDirectory);
         }
     }
 
-
+    /**
+     * @return the shared {@link JarExtractor}
+     * @see #JAR_EXTRACT_PARALLELISM_PROPERTY_NAME
+     */
+    @Nonnull
+    public static JarExtractor getJarExtractor() {
+        return jarExtractor;
+    }
 }
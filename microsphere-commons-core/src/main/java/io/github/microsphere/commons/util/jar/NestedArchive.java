@@ -0,0 +1,313 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.constants.SeparatorConstants;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * The nested jar which is STORED (uncompressed) in the outer jar, e.g the libraries under "BOOT-INF/lib/" of Spring
+ * Boot executable jar, its central directory and entries are read in place by the offset in the outer jar file,
+ * without being extracted to the temporary file.
+ * <p/>
+ * The nested archive is addressed by the path in the form of "&lt;outer jar path&gt;!/&lt;entry name&gt;", e.g
+ * "/opt/app.jar!/BOOT-INF/lib/commons-io-2.4.jar", which is used as the class path entry.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZipCentralDirectory#read(File, long, long)
+ * @since 1.0.0
+ */
+public class NestedArchive implements Closeable {
+
+    /**
+     * The directories of nested jars in the executable jar and war
+     */
+    public static final String[] NESTED_JAR_DIRECTORIES = {"BOOT-INF/lib/", "WEB-INF/lib/", "WEB-INF/lib-provided/"};
+
+    /**
+     * The directories of nested classes in the executable jar and war
+     */
+    public static final String[] NESTED_CLASSES_DIRECTORIES = {"BOOT-INF/classes/", "WEB-INF/classes/"};
+
+    private final File file;
+
+    private final String entryName;
+
+    private final long offset;
+
+    private final long length;
+
+    private final FileChannel fileChannel;
+
+    private final ZipCentralDirectory centralDirectory;
+
+    private NestedArchive(File file, String entryName, long offset, long length, FileChannel fileChannel)
+            throws IOException {
+        this.file = file;
+        this.entryName = entryName;
+        this.offset = offset;
+        this.length = length;
+        this.fileChannel = fileChannel;
+        this.centralDirectory = ZipCentralDirectory.read(file, offset, length);
+    }
+
+    /**
+     * Open the nested archive
+     *
+     * @param file      the outer jar file
+     * @param entryName the name of the nested jar entry, e.g "BOOT-INF/lib/commons-io-2.4.jar"
+     * @return non-null {@link NestedArchive} which must be closed after use
+     * @throws IOException If the entry is absent or compressed, or it's not a valid zip archive
+     */
+    @Nonnull
+    public static NestedArchive open(File file, String entryName) throws IOException {
+        ZipCentralDirectory.Cursor cursor = ZipCentralDirectory.read(file).cursor();
+        while (cursor.next()) {
+            if (cursor.getNameLength() == entryName.length() && cursor.nameStartsWith(entryName)) {
+                if (cursor.getMethod() != ZipEntry.STORED) {
+                    throw new ZipException("The nested archive[" + entryName + "] is compressed in " + file);
+                }
+                FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                try {
+                    long dataOffset = ZipCentralDirectory.readDataOffset(fileChannel, cursor.getLocalHeaderOffset());
+                    return new NestedArchive(file, entryName, dataOffset, cursor.getCompressedSize(), fileChannel);
+                } catch (IOException | RuntimeException e) {
+                    fileChannel.close();
+                    throw e;
+                }
+            }
+        }
+        throw new ZipException("The nested archive[" + entryName + "] is absent in " + file);
+    }
+
+    /**
+     * Open the nested archive by its path
+     *
+     * @param nestedArchivePath the path of nested archive, e.g "/opt/app.jar!/BOOT-INF/lib/commons-io-2.4.jar"
+     * @return non-null {@link NestedArchive} which must be closed after use
+     * @throws IOException If the entry is absent or compressed, or it's not a valid zip archive
+     * @see #isNestedPath(String)
+     */
+    @Nonnull
+    public static NestedArchive open(String nestedArchivePath) throws IOException {
+        return open(new File(resolveArchivePath(nestedArchivePath)), resolveEntryName(nestedArchivePath));
+    }
+
+    /**
+     * Find the paths of the nested class path entries in the executable jar, which are the directories of nested
+     * classes and the STORED nested jars in order, the compressed nested jars are ignored
+     *
+     * @param jarFile the jar file
+     * @return non-null read-only {@link List}, it's empty if the jar file is not executable or can't be read
+     */
+    @Nonnull
+    public static List<String> findNestedClassPaths(File jarFile) {
+        List<String> classesPaths = new ArrayList<>();
+        List<String> jarPaths = new ArrayList<>();
+        String archivePath = jarFile.getAbsolutePath() + SeparatorConstants.ARCHIVE_ENTITY;
+        try {
+            ZipCentralDirectory.Cursor cursor = ZipCentralDirectory.read(jarFile).cursor();
+            while (cursor.next()) {
+                for (String directory : NESTED_CLASSES_DIRECTORIES) {
+                    if (cursor.getNameLength() == directory.length() && cursor.nameStartsWith(directory)) {
+                        classesPaths.add(archivePath + directory.substring(0, directory.length() - 1));
+                    }
+                }
+                for (String directory : NESTED_JAR_DIRECTORIES) {
+                    if (cursor.getMethod() == ZipEntry.STORED && cursor.nameStartsWith(directory)
+                            && cursor.nameEndsWith(FileSuffixConstants.JAR)
+                            && cursor.nameIndexOf('/', directory.length()) < 0) {
+                        jarPaths.add(archivePath + cursor.getName());
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return Collections.emptyList();
+        }
+        classesPaths.addAll(jarPaths);
+        return Collections.unmodifiableList(classesPaths);
+    }
+
+    /**
+     * @param path the path
+     * @return <code>true</code> if it's the path of the nested entry, e.g "/opt/app.jar!/BOOT-INF/lib/commons-io-2.4.jar"
+     */
+    public static boolean isNestedPath(String path) {
+        return StringUtils.contains(path, SeparatorConstants.ARCHIVE_ENTITY);
+    }
+
+    /**
+     * @param nestedPath the path of the nested entry, e.g "/opt/app.jar!/BOOT-INF/classes"
+     * @return the path of the outer jar, e.g "/opt/app.jar"
+     */
+    @Nonnull
+    public static String resolveArchivePath(String nestedPath) {
+        return StringUtils.substringBefore(nestedPath, SeparatorConstants.ARCHIVE_ENTITY);
+    }
+
+    /**
+     * @param nestedPath the path of the nested entry, e.g "/opt/app.jar!/BOOT-INF/classes/"
+     * @return the name of the nested entry without the trailing separators, e.g "BOOT-INF/classes"
+     */
+    @Nonnull
+    public static String resolveEntryName(String nestedPath) {
+        String entryName = StringUtils.substringAfter(nestedPath, SeparatorConstants.ARCHIVE_ENTITY);
+        entryName = StringUtils.removeEnd(entryName, SeparatorConstants.ARCHIVE_ENTITY);
+        return StringUtils.removeEnd(entryName, "/");
+    }
+
+    /**
+     * Create the {@link JarEntry} of the current record of cursor, which has the name, the method, the sizes and the
+     * CRC-32 only
+     *
+     * @param cursor the {@link ZipCentralDirectory.Cursor cursor} of {@link #getCentralDirectory()}
+     * @return non-null
+     */
+    @Nonnull
+    public static JarEntry toJarEntry(ZipCentralDirectory.Cursor cursor) {
+        JarEntry jarEntry = new JarEntry(cursor.getName());
+        jarEntry.setMethod(cursor.getMethod());
+        jarEntry.setSize(cursor.getSize());
+        jarEntry.setCompressedSize(cursor.getCompressedSize());
+        jarEntry.setCrc(cursor.getCrc());
+        return jarEntry;
+    }
+
+    /**
+     * @return the outer jar file
+     */
+    @Nonnull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the name of the nested jar entry
+     */
+    @Nonnull
+    public String getEntryName() {
+        return entryName;
+    }
+
+    /**
+     * @return the path of nested archive, e.g "/opt/app.jar!/BOOT-INF/lib/commons-io-2.4.jar"
+     */
+    @Nonnull
+    public String getPath() {
+        return file.getAbsolutePath() + SeparatorConstants.ARCHIVE_ENTITY + entryName;
+    }
+
+    /**
+     * @return the offset of nested archive in the outer jar file
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the length of nested archive
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the {@link ZipCentralDirectory} of nested archive
+     */
+    @Nonnull
+    public ZipCentralDirectory getCentralDirectory() {
+        return centralDirectory;
+    }
+
+    /**
+     * Get the {@link InputStream} of the current entry of cursor, which reads the outer jar file by offset
+     *
+     * @param cursor the {@link ZipCentralDirectory.Cursor cursor} of {@link #getCentralDirectory()}
+     * @return non-null {@link InputStream} which should be closed after use
+     * @throws IOException If the entry can't be read or its compression method is unsupported
+     */
+    @Nonnull
+    public InputStream getInputStream(ZipCentralDirectory.Cursor cursor) throws IOException {
+        long dataOffset = ZipCentralDirectory.readDataOffset(fileChannel, cursor.getLocalHeaderOffset());
+        InputStream inputStream = new RegionInputStream(dataOffset, cursor.getCompressedSize());
+        switch (cursor.getMethod()) {
+            case ZipEntry.STORED:
+                return inputStream;
+            case ZipEntry.DEFLATED:
+                final Inflater inflater = new Inflater(true);
+                return new InflaterInputStream(inputStream, inflater) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        inflater.end();
+                    }
+                };
+            default:
+                throw new ZipException("The compression method[" + cursor.getMethod() + "] is unsupported");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    /**
+     * The {@link InputStream} of the region in the outer jar file, which is read by the positional reads, thus the
+     * streams of the entries are independent
+     */
+    private class RegionInputStream extends InputStream {
+
+        private long position;
+
+        private final long end;
+
+        RegionInputStream(long position, long length) {
+            this.position = position;
+            this.end = position + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] bytes = new byte[1];
+            return read(bytes, 0, 1) < 0 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, off, (int) Math.min(len, end - position));
+            int count = fileChannel.read(buffer, position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * The lightweight reader of the central directory of zip (jar) file, only the End-Of-Central-Directory record and the
+ * central directory records are {@link MappedByteBuffer memory mapped}, thus the entries are listed without the
+ * manifest verification, the {@link java.util.jar.JarEntry} objects and the native inflater resources of {@link
+ * java.util.jar.JarFile}.
+ * <p/>
+ * The records are iterated by the reusable {@link Cursor}, there is no per-entry allocation unless the name is
+ * {@link Cursor#getName() decoded}, e.g :
+ * <pre>
+ * ZipCentralDirectory.Cursor cursor = ZipCentralDirectory.read(jarFile).cursor();
+ * while (cursor.next()) {
+ *     if (cursor.nameEndsWith(".class")) {
+ *         classNames.add(ClassUtils.resolveClassName(cursor.getName()));
+ *     }
+ * }
+ * </pre>
+ * The ZIP64 format and the prepended data (e.g the launch script of executable jar) are supported.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarEntryIndex
+ * @since 1.0.0
+ */
+public class ZipCentralDirectory {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int END_SIZE = 22;
+
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_END_SIZE = 56;
+
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final MappedByteBuffer buffer;
+
+    private final int size;
+
+    /**
+     * The offset of zip archive in the file plus the prepended data, which is added to the local header offsets
+     */
+    private final long baseOffset;
+
+    private ZipCentralDirectory(MappedByteBuffer buffer, int size, long baseOffset) {
+        this.buffer = buffer;
+        this.size = size;
+        this.baseOffset = baseOffset;
+    }
+
+    /**
+     * Read the central directory of the zip file
+     *
+     * @param zipFile the zip (jar) file
+     * @return non-null
+     * @throws IOException If the file can't be read, or it's not a valid zip file
+     */
+    @Nonnull
+    public static ZipCentralDirectory read(File zipFile) throws IOException {
+        return read(zipFile, 0, zipFile.length());
+    }
+
+    /**
+     * Read the central directory of the zip archive which is stored in the region of file, e.g the STORED nested jar
+     * in the executable jar, thus the nested archive is read in place without extraction. The {@link
+     * Cursor#getLocalHeaderOffset() local header offsets} are still the offsets in the file.
+     *
+     * @param file   the file contains the zip archive
+     * @param offset the offset of zip archive in the file
+     * @param length the length of zip archive
+     * @return non-null
+     * @throws IOException If the file can't be read, or the region is not a valid zip archive
+     * @see NestedArchive
+     */
+    @Nonnull
+    public static ZipCentralDirectory read(File file, long offset, long length) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (offset < 0 || length < END_SIZE || offset + length > fileChannel.size()) {
+                throw new ZipException("The zip archive is too small or out of the file : " + file);
+            }
+            long tailSize = Math.min(length, END_SIZE + MAX_COMMENT_LENGTH);
+            long tailOffset = offset + length - tailSize;
+            MappedByteBuffer tail = map(fileChannel, tailOffset, tailSize);
+            int endPosition = findEndPosition(tail);
+            if (endPosition < 0) {
+                throw new ZipException("The End-Of-Central-Directory record is absent : " + file);
+            }
+            long size = tail.getShort(endPosition + 10) & 0xFFFF;
+            long centralSize = tail.getInt(endPosition + 12) & ZIP64_MAGIC;
+            long centralOffset = tail.getInt(endPosition + 16) & ZIP64_MAGIC;
+            long endOffset = tailOffset + endPosition;
+
+            int locatorPosition = endPosition - ZIP64_LOCATOR_SIZE;
+            if (locatorPosition >= 0 && tail.getInt(locatorPosition) == ZIP64_LOCATOR_SIGNATURE) { // ZIP64
+                long zip64EndOffset = offset + tail.getLong(locatorPosition + 8);
+                MappedByteBuffer zip64End = map(fileChannel, zip64EndOffset, ZIP64_END_SIZE);
+                if (zip64End.getInt(0) == ZIP64_END_SIGNATURE) {
+                    size = zip64End.getLong(32);
+                    centralSize = zip64End.getLong(40);
+                    centralOffset = zip64End.getLong(48);
+                    endOffset = zip64EndOffset;
+                }
+            }
+
+            long centralPosition = endOffset - centralSize;
+            if (centralPosition < offset || size > Integer.MAX_VALUE || centralSize > Integer.MAX_VALUE) {
+                throw new ZipException("The central directory is invalid : " + file);
+            }
+            // The mapping is still valid after the channel was closed
+            return new ZipCentralDirectory(map(fileChannel, centralPosition, centralSize), (int) size,
+                    centralPosition - centralOffset);
+        }
+    }
+
+    /**
+     * Read the offset of the entry data, which follows the local file header whose name and extra field may differ
+     * from the central directory record
+     *
+     * @param fileChannel       the {@link FileChannel} of zip file, which is read by the positional reads
+     * @param localHeaderOffset {@link Cursor#getLocalHeaderOffset() the offset of local file header}
+     * @return the offset of the entry data in the file
+     * @throws IOException If the local file header is truncated or corrupt
+     */
+    static long readDataOffset(FileChannel fileChannel, long localHeaderOffset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (fileChannel.read(header, localHeaderOffset + header.position()) < 0) {
+                throw new ZipException("The local file header is truncated at " + localHeaderOffset);
+            }
+        }
+        if (header.getInt(0) != LOCAL_SIGNATURE) {
+            throw new ZipException("The local file header is corrupt at " + localHeaderOffset);
+        }
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+        return localHeaderOffset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    /**
+     * Read the content of the current entry of cursor, which is located by its local file header directly, thus it's
+     * suitable for the small entries only, e.g the resource of {@link JarClassIndex}
+     *
+     * @param file   the file contains the zip archive
+     * @param cursor the {@link Cursor cursor} of the central directory read from the file
+     * @return non-null bytes of the uncompressed content
+     * @throws IOException If the entry is truncated or corrupt, or its compression method is unsupported
+     */
+    @Nonnull
+    public static byte[] readEntry(File file, Cursor cursor) throws IOException {
+        long compressedSize = cursor.getCompressedSize();
+        long size = cursor.getSize();
+        if (compressedSize >= Integer.MAX_VALUE || size >= Integer.MAX_VALUE) {
+            throw new ZipException("The entry[" + cursor.getName() + "] is too large : " + file);
+        }
+        // The extra dummy byte is required by the Inflater without the zlib header
+        ByteBuffer data = ByteBuffer.allocate((int) compressedSize + 1);
+        data.limit((int) compressedSize);
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long dataOffset = readDataOffset(fileChannel, cursor.getLocalHeaderOffset());
+            while (data.hasRemaining()) {
+                if (fileChannel.read(data, dataOffset + data.position()) < 0) {
+                    throw new ZipException("The entry[" + cursor.getName() + "] is truncated : " + file);
+                }
+            }
+        }
+        switch (cursor.getMethod()) {
+            case ZipEntry.STORED:
+                return Arrays.copyOf(data.array(), (int) compressedSize);
+            case ZipEntry.DEFLATED:
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(data.array());
+                    byte[] content = new byte[(int) size];
+                    int length = 0;
+                    while (length < content.length && !inflater.finished()) {
+                        int count = inflater.inflate(content, length, content.length - length);
+                        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        length += count;
+                    }
+                    if (length != content.length) {
+                        throw new ZipException("The entry[" + cursor.getName() + "] is corrupt : " + file);
+                    }
+                    return content;
+                } catch (DataFormatException e) {
+                    throw new ZipException("The entry[" + cursor.getName() + "] is corrupt : " + file + " , " + e.getMessage());
+                } finally {
+                    inflater.end();
+                }
+            default:
+                throw new ZipException("The compression method[" + cursor.getMethod() + "] is unsupported");
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel fileChannel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static int findEndPosition(MappedByteBuffer tail) {
+        for (int position = tail.limit() - END_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_SIGNATURE
+                    && position + END_SIZE + (tail.getShort(position + 20) & 0xFFFF) <= tail.limit()) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the count of entries recorded in the End-Of-Central-Directory record
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param entryName the ASCII name of entry
+     * @return <code>true</code> if the entry is present, which is searched linearly without allocation
+     */
+    public boolean contains(String entryName) {
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (cursor.getNameLength() == entryName.length() && cursor.nameStartsWith(entryName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a new {@link Cursor} before the first entry
+     */
+    @Nonnull
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * The reusable cursor on the central directory records, whose getters return the values of current record
+     */
+    public class Cursor {
+
+        private int index = -1;
+
+        private int position = -1;
+
+        private int nextPosition = 0;
+
+        private int nameLength;
+
+        private long compressedSize;
+
+        private long uncompressedSize;
+
+        private long localHeaderOffset;
+
+        private Cursor() {
+        }
+
+        /**
+         * Move to the next record
+         *
+         * @return <code>true</code> if present
+         * @throws IllegalStateException If the record is corrupt
+         */
+        public boolean next() throws IllegalStateException {
+            // The records are bounded by the size of central directory rather than the count, which may overflow
+            if (nextPosition + CENTRAL_HEADER_SIZE > buffer.limit()) {
+                return false;
+            }
+            int position = nextPosition;
+            if (buffer.getInt(position) != CENTRAL_SIGNATURE) {
+                throw new IllegalStateException("The central directory record is corrupt at " + position);
+            }
+            this.index++;
+            this.position = position;
+            this.nameLength = buffer.getShort(position + 28) & 0xFFFF;
+            int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+            int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+            this.compressedSize = buffer.getInt(position + 20) & ZIP64_MAGIC;
+            this.uncompressedSize = buffer.getInt(position + 24) & ZIP64_MAGIC;
+            this.localHeaderOffset = buffer.getInt(position + 42) & ZIP64_MAGIC;
+            if (compressedSize == ZIP64_MAGIC || uncompressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                readZip64ExtraField(position + CENTRAL_HEADER_SIZE + nameLength, extraLength);
+            }
+            this.nextPosition = position + CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+            return true;
+        }
+
+        private void readZip64ExtraField(int extraPosition, int extraLength) {
+            int end = extraPosition + extraLength;
+            while (extraPosition + 4 <= end) {
+                int id = buffer.getShort(extraPosition) & 0xFFFF;
+                int dataSize = buffer.getShort(extraPosition + 2) & 0xFFFF;
+                int dataPosition = extraPosition + 4;
+                if (id == ZIP64_EXTRA_FIELD_ID) {
+                    // The values are present in this order only if their fields in the header are 0xFFFFFFFF
+                    if (uncompressedSize == ZIP64_MAGIC) {
+                        uncompressedSize = buffer.getLong(dataPosition);
+                        dataPosition += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC) {
+                        compressedSize = buffer.getLong(dataPosition);
+                        dataPosition += 8;
+                    }
+                    if (localHeaderOffset == ZIP64_MAGIC) {
+                        localHeaderOffset = buffer.getLong(dataPosition);
+                    }
+                    return;
+                }
+                extraPosition = dataPosition + dataSize;
+            }
+        }
+
+        /**
+         * @return the index of current record
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the decoded name of entry, which is allocated on each call
+         */
+        @Nonnull
+        public String getName() {
+            byte[] bytes = new byte[nameLength];
+            ByteBuffer nameBuffer = buffer.duplicate();
+            nameBuffer.position(position + CENTRAL_HEADER_SIZE);
+            nameBuffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        /**
+         * @return the length of name in bytes
+         */
+        public int getNameLength() {
+            return nameLength;
+        }
+
+        /**
+         * @param index the index of byte in name
+         * @return the byte of name
+         */
+        public byte getNameByte(int index) {
+            return buffer.get(position + CENTRAL_HEADER_SIZE + index);
+        }
+
+        /**
+         * @param prefix the ASCII prefix
+         * @return <code>true</code> if the name starts with the prefix
+         */
+        public boolean nameStartsWith(String prefix) {
+            return regionMatches(0, prefix);
+        }
+
+        /**
+         * @param suffix the ASCII suffix
+         * @return <code>true</code> if the name ends with the suffix
+         */
+        public boolean nameEndsWith(String suffix) {
+            return regionMatches(nameLength - suffix.length(), suffix);
+        }
+
+        /**
+         * @param c         the ASCII char
+         * @param fromIndex the index to start from
+         * @return the index of the char in name bytes, or -1
+         */
+        public int nameIndexOf(char c, int fromIndex) {
+            for (int i = Math.max(0, fromIndex); i < nameLength; i++) {
+                if (getNameByte(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean regionMatches(int offset, String ascii) {
+            if (offset < 0 || offset + ascii.length() > nameLength) {
+                return false;
+            }
+            for (int i = 0; i < ascii.length(); i++) {
+                if (getNameByte(offset + i) != ascii.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return <code>true</code> if the entry is a directory
+         */
+        public boolean isDirectory() {
+            return nameLength > 0 && getNameByte(nameLength - 1) == '/';
+        }
+
+        /**
+         * @return the compression method, e.g {@link java.util.zip.ZipEntry#STORED}
+         */
+        public int getMethod() {
+            return buffer.getShort(position + 10) & 0xFFFF;
+        }
+
+        /**
+         * @return the CRC-32 of uncompressed data
+         */
+        public long getCrc() {
+            return buffer.getInt(position + 16) & ZIP64_MAGIC;
+        }
+
+        /**
+         * @return the size of compressed data
+         */
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+
+        /**
+         * @return the size of uncompressed data
+         */
+        public long getSize() {
+            return uncompressedSize;
+        }
+
+        /**
+         * @return the offset of the local file header in the zip file
+         */
+        public long getLocalHeaderOffset() {
+            return baseOffset + localHeaderOffset;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.io.scanner;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link ParallelFileScanner} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ParallelFileScanner
+ * @since 1.0.0
+ */
+public class ParallelFileScannerTest extends AbstractTestCase {
+
+    private ParallelFileScanner parallelFileScanner = new ParallelFileScanner(4);
+
+    @Test
+    public void testScan() throws IOException {
+        File rootDirectory = new File(SystemUtils.JAVA_IO_TMPDIR, "parallel-file-scanner");
+        FileUtils.deleteQuietly(rootDirectory);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                FileUtils.touch(new File(rootDirectory, "p" + i + "/q" + j + "/C" + j + ".class"));
+            }
+            FileUtils.touch(new File(rootDirectory, "p" + i + "/R.txt"));
+        }
+
+        SuffixFileFilter classFileFilter = new SuffixFileFilter(".class");
+        Set<File> expectedFiles = SimpleFileScanner.INSTANCE.scan(rootDirectory, true);
+        Set<File> files = parallelFileScanner.scan(rootDirectory, true);
+        Assert.assertEquals(new ArrayList<>(expectedFiles), new ArrayList<>(files));
+
+        files = parallelFileScanner.scan(rootDirectory, true, classFileFilter, false);
+        Assert.assertEquals(25, files.size());
+        Assert.assertEquals(SimpleFileScanner.INSTANCE.scan(rootDirectory, true, classFileFilter), new HashSet<>(files));
+
+        List<File> filesList = new ArrayList<>(parallelFileScanner.scan(rootDirectory, false));
+        Assert.assertEquals(6, filesList.size());
+        Assert.assertEquals(rootDirectory, filesList.get(0));
+        Assert.assertTrue(parallelFileScanner.scan(rootDirectory, false, classFileFilter, true).isEmpty());
+        FileUtils.deleteQuietly(rootDirectory);
+    }
+
+    @Test
+    public void testScanLinks() throws IOException {
+        File rootDirectory = Files.createTempDirectory("parallel-file-scanner").toFile();
+        try {
+            File sharedDirectory = new File(rootDirectory, "shared");
+            FileUtils.touch(new File(sharedDirectory, "p/C.class"));
+            FileUtils.forceMkdir(new File(rootDirectory, "a"));
+            FileUtils.forceMkdir(new File(rootDirectory, "b"));
+            try {
+                // The shared directory is linked from the different branches, and the loop is linked to the root
+                Files.createSymbolicLink(new File(rootDirectory, "a/shared").toPath(), sharedDirectory.toPath());
+                Files.createSymbolicLink(new File(rootDirectory, "b/shared").toPath(), sharedDirectory.toPath());
+                Files.createSymbolicLink(new File(sharedDirectory, "p/loop").toPath(), rootDirectory.toPath());
+            } catch (IOException | UnsupportedOperationException e) { // The symbolic links are not supported
+                return;
+            }
+
+            // The directory linked from the different branches is scanned in each of them as same as SimpleFileScanner
+            for (int i = 0; i < 3; i++) {
+                Set<File> files = parallelFileScanner.scan(rootDirectory, true);
+                Assert.assertEquals(new ArrayList<>(SimpleFileScanner.INSTANCE.scan(rootDirectory, true)), new ArrayList<>(files));
+                Assert.assertTrue(files.contains(new File(rootDirectory, "a/shared/p/C.class")));
+                Assert.assertTrue(files.contains(new File(rootDirectory, "b/shared/p/C.class")));
+                Assert.assertTrue(files.contains(new File(rootDirectory, "shared/p/C.class")));
+                // The loop is scanned as the file without the sub-files
+                Assert.assertTrue(files.contains(new File(rootDirectory, "a/shared/p/loop")));
+                Assert.assertFalse(files.contains(new File(rootDirectory, "a/shared/p/loop/shared")));
+            }
+        } finally {
+            FileUtils.deleteQuietly(rootDirectory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new ParallelFileScanner(0);
+    }
+}
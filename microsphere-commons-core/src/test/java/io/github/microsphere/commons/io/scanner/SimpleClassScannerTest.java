@@ -4,10 +4,33 @@
 package io.github.microsphere.commons.io.scanner;
 
 import io.github.microsphere.commons.AbstractTestCase;
+import io.github.microsphere.commons.filter.ClassFileMetadataFilter;
+import io.github.microsphere.commons.filter.ClassFilter;
+import io.github.microsphere.commons.filter.FilterUtils;
+import io.github.microsphere.commons.filter.PackageNameClassFilter;
+import io.github.microsphere.commons.filter.TrueClassFilter;
+import io.github.microsphere.commons.util.ClassLoaderUtils;
+import io.github.microsphere.commons.util.ClassUtils;
 import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 /**
  * {@link SimpleClassScannerTest}
@@ -31,4 +54,126 @@ public class SimpleClassScannerTest extends AbstractTestCase {
         Assert.assertFalse(classesSet.isEmpty());
         echo(classesSet);
     }
+
+    @Test
+    public void testScanWithVisitor() {
+        List<Class<?>> visitedClasses = new ArrayList<>();
+        Assert.assertFalse(simpleClassScanner.scan(classLoader, "io.github.microsphere.commons", true, true, type -> {
+            visitedClasses.add(type);
+            return ScanVisitResult.TERMINATE;
+        }));
+        Assert.assertEquals(1, visitedClasses.size());
+
+        visitedClasses.clear();
+        Assert.assertTrue(simpleClassScanner.scan(classLoader, "io.github.microsphere.commons", true, true,
+                ScanVisitor.of(visitedClasses::add)));
+        Assert.assertEquals(simpleClassScanner.scan(classLoader, "io.github.microsphere.commons", true, true),
+                new LinkedHashSet<>(visitedClasses));
+    }
+
+    @Test
+    public void testScanInJarFile() throws IOException {
+        String packageName = "org.apache.commons.lang3.text";
+        String jarPath = ClassUtils.findClassPath(StringUtils.class);
+        Set<String> expectedClassNames = new HashSet<>();
+        try (JarFile jarFile = new JarFile(jarPath)) {
+            for (JarEntry jarEntry : Collections.list(jarFile.entries())) {
+                String className = ClassUtils.resolveClassName(jarEntry.getName());
+                if (jarEntry.getName().endsWith(".class") && packageName.equals(ClassUtils.resolvePackageName(className))) {
+                    expectedClassNames.add(className);
+                }
+            }
+        }
+        Assert.assertFalse(expectedClassNames.isEmpty());
+        SimpleClassScanner uncachedScanner = new SimpleClassScanner(0);
+        Assert.assertEquals(expectedClassNames, getClassNames(uncachedScanner.scan(classLoader, packageName, false, true)));
+
+        // The jar file is not in the class paths
+        File directory = Files.createTempDirectory("simple-class-scanner").toFile();
+        try {
+            File jarFile = new File(directory, "commons-lang3.jar");
+            FileUtils.copyFile(new File(jarPath), jarFile);
+            try (URLClassLoader isolatedClassLoader = new URLClassLoader(new URL[]{jarFile.toURI().toURL()}, null)) {
+                for (int i = 0; i < 2; i++) {
+                    Assert.assertEquals(expectedClassNames,
+                            getClassNames(uncachedScanner.scan(isolatedClassLoader, packageName, false, true)));
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private Set<String> getClassNames(Set<Class<?>> classesSet) {
+        Set<String> classNames = new HashSet<>();
+        for (Class<?> type : classesSet) {
+            classNames.add(type.getName());
+        }
+        return classNames;
+    }
+
+    @Test
+    public void testScanWithClassFileMetadataFilter() throws IOException {
+        URL classPathURL = new File(ClassUtils.findClassPath(ClassFilter.class)).toURI().toURL();
+        try (URLClassLoader isolatedClassLoader = new URLClassLoader(new URL[]{classPathURL}, null)) {
+            Set<Class<?>> classesSet = simpleClassScanner.scan(isolatedClassLoader, "io.github.microsphere.commons.filter",
+                    false, ClassFileMetadataFilter.implementsInterface(ClassFilter.class.getName()));
+            Set<String> classNames = new HashSet<>();
+            for (Class<?> type : classesSet) {
+                classNames.add(type.getName());
+            }
+            Assert.assertEquals(new HashSet<>(Arrays.asList(PackageNameClassFilter.class.getName(),
+                    TrueClassFilter.class.getName())), classNames);
+            // The rejected classes are never loaded
+            Assert.assertNull(ClassLoaderUtils.findLoadedClass(isolatedClassLoader, FilterUtils.class.getName()));
+        }
+    }
+
+    @Test
+    public void testScanCache() throws Exception {
+        SimpleClassScanner cachedScanner = new SimpleClassScanner(1);
+        String packageName = "io.github.microsphere.commons.filter";
+        URL classPathURL = new File(ClassUtils.findClassPath(ClassFilter.class)).toURI().toURL();
+        URLClassLoader isolatedClassLoader = new URLClassLoader(new URL[]{classPathURL}, null);
+        WeakReference<ClassLoader> classLoaderReference = new WeakReference<>(isolatedClassLoader);
+
+        Set<Class<?>> classesSet = cachedScanner.scan(isolatedClassLoader, packageName, false, true);
+        Assert.assertFalse(classesSet.isEmpty());
+        assertCacheStatistics(cachedScanner, 0, 1);
+        Assert.assertEquals(classesSet, cachedScanner.scan(isolatedClassLoader, packageName, false, true));
+        assertCacheStatistics(cachedScanner, 1, 1);
+        // The cached class names are resolved by the scanning mode
+        Assert.assertEquals(classesSet, cachedScanner.scan(isolatedClassLoader, packageName, false, false));
+        assertCacheStatistics(cachedScanner, 2, 1);
+        // The other key is scanned, and the eldest one is evicted
+        Assert.assertFalse(cachedScanner.scan(isolatedClassLoader, packageName, true, true).isEmpty());
+        assertCacheStatistics(cachedScanner, 2, 2);
+        Assert.assertEquals(classesSet, cachedScanner.scan(isolatedClassLoader, packageName, false, true));
+        assertCacheStatistics(cachedScanner, 2, 3);
+        cachedScanner.invalidate(isolatedClassLoader);
+        Assert.assertEquals(classesSet, cachedScanner.scan(isolatedClassLoader, packageName, false, true));
+        assertCacheStatistics(cachedScanner, 2, 4);
+
+        // The cache is disabled
+        SimpleClassScanner uncachedScanner = new SimpleClassScanner(0);
+        Assert.assertEquals(classesSet, uncachedScanner.scan(isolatedClassLoader, packageName, false, true));
+        Assert.assertEquals(classesSet, uncachedScanner.scan(isolatedClassLoader, packageName, false, true));
+        assertCacheStatistics(uncachedScanner, 0, 0);
+
+        // The cache doesn't pin the ClassLoader
+        classesSet = null;
+        isolatedClassLoader.close();
+        isolatedClassLoader = null;
+        for (int i = 0; i < 20 && classLoaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assert.assertNull(classLoaderReference.get());
+    }
+
+    private void assertCacheStatistics(SimpleClassScanner scanner, long hits, long misses) {
+        ClassScanCacheStatistics statistics = scanner.getCacheStatistics();
+        Assert.assertEquals(hits, statistics.getHits());
+        Assert.assertEquals(misses, statistics.getMisses());
+    }
 }
@@ -5,13 +5,23 @@ package io.github.microsphere.commons.io.scanner;
 
 import io.github.microsphere.commons.AbstractTestCase;
 import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.commons.io.filefilter.NameFileFilter;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * {@link SimpleFileScanner} {@link Test}
@@ -34,4 +44,59 @@ public class SimpleFileScannerTest extends AbstractTestCase {
         directories = simpleFileScanner.scan(jarHome, false, new NameFileFilter("bin"));
         Assert.assertEquals(1, directories.size());
     }
+
+    @Test
+    public void testScanInPreOrder() throws IOException {
+        File rootDirectory = new File(SystemUtils.JAVA_IO_TMPDIR, "simple-file-scanner");
+        FileUtils.deleteQuietly(rootDirectory);
+        File a = new File(rootDirectory, "a");
+        File b = new File(a, "b");
+        File c = new File(b, "c.class");
+        File d = new File(rootDirectory, "d.class");
+        FileUtils.touch(c);
+        FileUtils.touch(d);
+
+        Set<File> files = simpleFileScanner.scan(rootDirectory, true);
+        Assert.assertEquals(5, files.size());
+        List<File> filesList = new ArrayList<>(files);
+        Assert.assertEquals(rootDirectory, filesList.get(0));
+        Assert.assertTrue(filesList.indexOf(a) < filesList.indexOf(b));
+        Assert.assertTrue(filesList.indexOf(b) < filesList.indexOf(c));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(a, b)), simpleFileScanner.scan(rootDirectory, true, DirectoryFileFilter.INSTANCE)
+                .stream().filter(file -> !file.equals(rootDirectory)).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(c, d)), simpleFileScanner.scan(rootDirectory, true, new SuffixFileFilter(".class")));
+        Assert.assertEquals(Collections.singleton(d), simpleFileScanner.scan(rootDirectory, false, new SuffixFileFilter(".class")));
+        FileUtils.deleteQuietly(rootDirectory);
+    }
+
+    @Test
+    public void testScanWithVisitor() throws IOException {
+        File rootDirectory = new File(SystemUtils.JAVA_IO_TMPDIR, "simple-file-scanner-visitor");
+        FileUtils.deleteQuietly(rootDirectory);
+        File a = new File(rootDirectory, "a");
+        File c = new File(a, "b/c.class");
+        File d = new File(rootDirectory, "d.class");
+        FileUtils.touch(c);
+        FileUtils.touch(d);
+
+        List<File> visitedFiles = new ArrayList<>();
+        Assert.assertTrue(simpleFileScanner.scan(rootDirectory, true, new SuffixFileFilter(".class"), ScanVisitor.of(visitedFiles::add)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(c, d)), new HashSet<>(visitedFiles));
+
+        visitedFiles.clear();
+        Assert.assertTrue(simpleFileScanner.scan(rootDirectory, true, TrueFileFilter.INSTANCE, file -> {
+            visitedFiles.add(file);
+            return file.equals(a) ? ScanVisitResult.SKIP_SUBTREE : ScanVisitResult.CONTINUE;
+        }));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(rootDirectory, a, d)), new HashSet<>(visitedFiles));
+
+        visitedFiles.clear();
+        Assert.assertFalse(simpleFileScanner.scan(rootDirectory, true, new SuffixFileFilter(".class"), file -> {
+            visitedFiles.add(file);
+            return ScanVisitResult.TERMINATE;
+        }));
+        Assert.assertEquals(1, visitedFiles.size());
+        FileUtils.deleteQuietly(rootDirectory);
+    }
 }
@@ -3,18 +3,28 @@
  */
 package io.github.microsphere.commons.io.scanner;
 
-import io.github.microsphere.commons.AbstractTestCase;
 import io.github.microsphere.commons.filter.JarEntryFilter;
 import io.github.microsphere.commons.util.ClassLoaderUtils;
+import io.github.microsphere.commons.util.jar.AbstractJarFileTestCase;
 import io.github.microsphere.commons.util.jar.JarUtils;
 import junit.framework.Assert;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
 
 /**
  * {@link SimpleJarEntryScanner} {@link Test}
@@ -24,7 +34,7 @@ import java.util.jar.JarFile;
  * @see SimpleJarEntryScannerTest
  * @since 1.0.0
  */
-public class SimpleJarEntryScannerTest extends AbstractTestCase {
+public class SimpleJarEntryScannerTest extends AbstractJarFileTestCase {
 
     private SimpleJarEntryScanner simpleJarEntryScanner = SimpleJarEntryScanner.INSTANCE;
 
@@ -51,4 +61,87 @@ public class SimpleJarEntryScannerTest extends AbstractTestCase {
         Assert.assertEquals(1, jarEntrySet.size());
 
     }
+
+    @Test
+    public void testScanAbsentJarFile() throws IOException {
+        URL jarURL = new URL("jar:file:/nonexistent/missing.jar!/META-INF/");
+        Assert.assertTrue(simpleJarEntryScanner.scan(jarURL, true).isEmpty());
+    }
+
+    @Test
+    public void testScanWithVisitor() throws IOException {
+        URL resourceURL = ClassLoaderUtils.getClassResource(classLoader, StringUtils.class);
+        try (JarFile jarFile = JarUtils.toJarFile(resourceURL)) {
+            List<JarEntry> visitedJarEntries = new ArrayList<>();
+            Assert.assertFalse(simpleJarEntryScanner.scan(jarFile, true, null, jarEntry -> {
+                visitedJarEntries.add(jarEntry);
+                return jarEntry.getName().equals("org/apache/commons/lang3/StringUtils.class") ? ScanVisitResult.TERMINATE : ScanVisitResult.CONTINUE;
+            }));
+            Assert.assertEquals("org/apache/commons/lang3/StringUtils.class", visitedJarEntries.get(visitedJarEntries.size() - 1).getName());
+
+            visitedJarEntries.clear();
+            Assert.assertTrue(simpleJarEntryScanner.scan(jarFile, true, null, jarEntry -> {
+                visitedJarEntries.add(jarEntry);
+                return jarEntry.getName().equals("org/apache/commons/lang3/") ? ScanVisitResult.SKIP_SUBTREE : ScanVisitResult.CONTINUE;
+            }));
+            for (JarEntry jarEntry : visitedJarEntries) {
+                Assert.assertFalse(jarEntry.getName().startsWith("org/apache/commons/lang3/builder/"));
+            }
+        }
+    }
+
+    @Test
+    public void testScanStream() throws IOException {
+        byte[] innerJarBytes = createJar("a/A.class", "A", "a/b/B.class", "B", "c.txt", "C");
+        final byte[] jarBytes = createJar("x.txt", "X", "lib/inner.jar", innerJarBytes);
+        URL jarURL = new URL(null, "memory:/outer.jar", new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL url) {
+                return new URLConnection(url) {
+                    @Override
+                    public void connect() {
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return new ByteArrayInputStream(jarBytes);
+                    }
+                };
+            }
+        });
+        Set<JarEntry> jarEntrySet = simpleJarEntryScanner.scan(jarURL, true);
+        Assert.assertEquals(2, jarEntrySet.size());
+
+        // The content of current entry is readable during visiting
+        final List<String> contents = new ArrayList<>();
+        try (JarInputStream jarInputStream = new JarInputStream(new ByteArrayInputStream(jarBytes))) {
+            Assert.assertTrue(simpleJarEntryScanner.scan(jarInputStream, "", false, null,
+                    ScanVisitor.of(jarEntry -> contents.add(jarEntry.getName() + "=" + readContent(jarInputStream)))));
+        }
+        Assert.assertEquals(Collections.singletonList("x.txt=X"), contents);
+
+        // The nested jar is streamed in place
+        final List<String> names = new ArrayList<>();
+        try (JarInputStream jarInputStream = new JarInputStream(new ByteArrayInputStream(jarBytes))) {
+            Assert.assertTrue(simpleJarEntryScanner.scan(jarInputStream, "lib/inner.jar!/a/", false, null,
+                    ScanVisitor.of(jarEntry -> names.add(jarEntry.getName()))));
+        }
+        Assert.assertEquals(Collections.singletonList("a/A.class"), names);
+
+        try (JarInputStream jarInputStream = new JarInputStream(new ByteArrayInputStream(jarBytes))) {
+            simpleJarEntryScanner.scan(jarInputStream, "lib/absent.jar!/", true, null, ScanVisitor.of(jarEntry -> {
+            }));
+            Assert.fail();
+        } catch (IOException e) {
+            // The nested jar is absent
+        }
+    }
+
+    private String readContent(InputStream inputStream) {
+        try {
+            return IOUtils.toString(inputStream, "UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -67,6 +67,27 @@ public class URLUtilsTest {
         expectedPath = "/abc/";
         resolvedPath = URLUtils.resolvePath(path);
         Assert.assertEquals(expectedPath, resolvedPath);
+
+        path = " C:\\\\Windows\\/temp\\ ";
+        expectedPath = "C:/Windows/temp/";
+        resolvedPath = URLUtils.resolvePath(path);
+        Assert.assertEquals(expectedPath, resolvedPath);
+
+        // The resolved path is returned as is
+        path = "/home/index.html";
+        Assert.assertSame(path, URLUtils.resolvePath(path));
+    }
+
+    @Test
+    public void testResolvePathIntoStringBuilder() {
+        StringBuilder pathBuilder = new StringBuilder("file:");
+        Assert.assertSame(pathBuilder, URLUtils.resolvePath(" //home\\\\index.html ", pathBuilder));
+        Assert.assertEquals("file:/home/index.html", pathBuilder.toString());
+
+        pathBuilder.setLength(0);
+        URLUtils.resolvePath(null, pathBuilder);
+        URLUtils.resolvePath("/a/b/", pathBuilder);
+        Assert.assertEquals("/a/b/", pathBuilder.toString());
     }
 
     @Test
@@ -0,0 +1,109 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import io.github.microsphere.commons.filter.ClassFileMetadataFilter;
+import io.github.microsphere.commons.filter.ClassFilter;
+import io.github.microsphere.commons.filter.Filter;
+import io.github.microsphere.commons.filter.PackageNameClassFilter;
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * {@link ClassFileMetadata} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassFileMetadata
+ * @since 1.0.0
+ */
+public class ClassFileMetadataTest extends AbstractTestCase {
+
+    @Test
+    public void testRead() throws IOException {
+        ClassFileMetadata metadata = read(AnnotatedClass.class);
+        Assert.assertEquals(AnnotatedClass.class.getName(), metadata.getClassName());
+        Assert.assertEquals(AbstractTestCase.class.getName(), metadata.getSuperClassName());
+        Assert.assertEquals(Arrays.asList(Serializable.class.getName(), Comparable.class.getName()),
+                metadata.getInterfaceNames());
+        Assert.assertEquals(Arrays.asList(Deprecated.class.getName(), Marker.class.getName()),
+                metadata.getAnnotationNames());
+        Assert.assertTrue(metadata.isAbstract());
+        Assert.assertFalse(metadata.isInterface());
+        Assert.assertFalse(metadata.isConcrete());
+
+        metadata = read(Marker.class);
+        Assert.assertTrue(metadata.isAnnotation());
+        Assert.assertTrue(metadata.isInterface());
+        Assert.assertEquals(Arrays.asList(Retention.class.getName(), Target.class.getName()),
+                metadata.getAnnotationNames());
+
+        metadata = read(ClassFileMetadataFilter.class);
+        Assert.assertEquals(Collections.singletonList(Filter.class.getName()), metadata.getInterfaceNames());
+        Assert.assertTrue(metadata.hasAnnotation(FunctionalInterface.class.getName()));
+
+        metadata = read(Object.class);
+        Assert.assertNull(metadata.getSuperClassName());
+        Assert.assertTrue(metadata.isPublic());
+
+        metadata = read(ElementType.class);
+        Assert.assertTrue(metadata.isEnum());
+
+        try {
+            ClassFileMetadata.read(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0});
+            Assert.fail();
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    public void testFilter() throws IOException {
+        ClassFileMetadata metadata = read(PackageNameClassFilter.class);
+        Assert.assertTrue(ClassFileMetadataFilter.implementsInterface(ClassFilter.class.getName()).accept(metadata));
+        Assert.assertTrue(ClassFileMetadataFilter.extendsClass(Object.class.getName()).accept(metadata));
+        Assert.assertFalse(ClassFileMetadataFilter.annotatedWith(Deprecated.class.getName()).accept(metadata));
+        Assert.assertFalse(ClassFileMetadataFilter.implementsInterface(ClassFilter.class.getName())
+                .and(ClassFileMetadata::isAbstract).accept(metadata));
+    }
+
+    private ClassFileMetadata read(Class<?> type) throws IOException {
+        String resourceName = type.getName().replace('.', '/') + ".class";
+        try (InputStream inputStream = ClassLoader.getSystemClassLoader().getResourceAsStream(resourceName)) {
+            return ClassFileMetadata.read(inputStream);
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @interface Marker {
+
+        String value() default "";
+
+        long[] numbers() default {};
+
+        Class<?> type() default Object.class;
+
+        Retention retention() default @Retention(RetentionPolicy.CLASS);
+    }
+
+    @Deprecated
+    @Marker(value = "中文", numbers = {1L, 2L}, type = String.class, retention = @Retention(RetentionPolicy.SOURCE))
+    static abstract class AnnotatedClass extends AbstractTestCase implements Serializable, Comparable<AnnotatedClass> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Marker
+        abstract void method();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import io.github.microsphere.commons.filter.ClassFileMetadataFilter;
+import io.github.microsphere.commons.filter.ClassFilter;
+import io.github.microsphere.commons.filter.Filter;
+import io.github.microsphere.commons.filter.PackageNameClassFilter;
+import io.github.microsphere.commons.filter.TrueClassFilter;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.builder.Builder;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * {@link ClassMetadataIndex} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassMetadataIndex
+ * @since 1.0.0
+ */
+public class ClassMetadataIndexTest extends AbstractTestCase {
+
+    private final static File tempDirectory = new File(SystemUtils.JAVA_IO_TMPDIR, "class-metadata-index");
+
+    @Test
+    public void testBuild() {
+        FileUtils.deleteQuietly(tempDirectory);
+        List<String> classPaths = Arrays.asList(ClassUtils.findClassPath(ClassFilter.class),
+                ClassUtils.findClassPath(StringUtils.class));
+        ClassMetadataIndex index = ClassMetadataIndex.build(classPaths, tempDirectory);
+        Assert.assertTrue(index.size() > 0);
+        Assert.assertEquals(Filter.class.getName(), index.getMetadata(ClassFilter.class.getName()).getInterfaceNames().get(0));
+        Assert.assertNull(index.getMetadata("not.exists.Class"));
+
+        Assert.assertTrue(index.getSubtypeNames(Filter.class.getName(), false).contains(ClassFilter.class.getName()));
+        Assert.assertFalse(index.getSubtypeNames(Filter.class.getName(), false).contains(TrueClassFilter.class.getName()));
+        Assert.assertTrue(index.getSubtypeNames(Filter.class.getName(), true).containsAll(Arrays.asList(
+                ClassFilter.class.getName(), TrueClassFilter.class.getName(), PackageNameClassFilter.class.getName())));
+        Assert.assertTrue(index.getAnnotatedClassNames(FunctionalInterface.class.getName())
+                .contains(ClassFileMetadataFilter.class.getName()));
+        Assert.assertEquals(Collections.emptySet(), index.getAnnotatedClassNames("not.exists.Annotation"));
+
+        // The jar file is persisted, and is read from the cache file in the next time
+        Assert.assertEquals(1, FileUtils.listFiles(tempDirectory, new String[]{"cmi"}, false).size());
+        ClassMetadataIndex cachedIndex = ClassMetadataIndex.build(classPaths, tempDirectory);
+        Assert.assertEquals(index.size(), cachedIndex.size());
+        Assert.assertEquals(index.getSubtypeNames(Builder.class.getName(), true),
+                cachedIndex.getSubtypeNames(Builder.class.getName(), true));
+        Assert.assertEquals(index.getAnnotatedClassNames(Deprecated.class.getName()),
+                cachedIndex.getAnnotatedClassNames(Deprecated.class.getName()));
+        FileUtils.deleteQuietly(tempDirectory);
+    }
+
+    @Test
+    public void testBuildWithMalformedClassFile() throws IOException {
+        File directory = Files.createTempDirectory("class-metadata-index").toFile();
+        try {
+            File jarFile = new File(directory, "malformed.jar");
+            String resourceName = ClassMetadataIndexTest.class.getName().replace('.', '/') + ".class";
+            try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+                outputStream.putNextEntry(new JarEntry(resourceName));
+                IOUtils.copy(ClassMetadataIndexTest.class.getResourceAsStream("/" + resourceName), outputStream);
+                outputStream.closeEntry();
+                outputStream.putNextEntry(new JarEntry("a/A.class"));
+                outputStream.write("malformed".getBytes("UTF-8"));
+                outputStream.closeEntry();
+            }
+            File cacheDirectory = new File(directory, "cache");
+            ClassMetadataIndex index = ClassMetadataIndex.build(Collections.singletonList(jarFile.getAbsolutePath()), cacheDirectory);
+            Assert.assertEquals(1, index.size());
+            Assert.assertNotNull(index.getMetadata(ClassMetadataIndexTest.class.getName()));
+            // The partial metadata is not persisted
+            Assert.assertFalse(cacheDirectory.exists());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+}
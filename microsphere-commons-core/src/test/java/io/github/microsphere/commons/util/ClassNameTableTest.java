@@ -0,0 +1,113 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link ClassNameTable} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassNameTable
+ * @since 1.0.0
+ */
+public class ClassNameTableTest extends AbstractTestCase {
+
+    @Test
+    public void testLookup() {
+        ClassNameTable classNameTable = ClassNameTable.of(Arrays.asList("a.b.C", "a.b.c.D", "a.b.A", "a.B", "Default", "a.b.C"));
+        Assert.assertEquals(5, classNameTable.size());
+        Assert.assertTrue(classNameTable.contains("a.b.C"));
+        Assert.assertTrue(classNameTable.contains("Default"));
+        Assert.assertFalse(classNameTable.contains("a.b.D"));
+
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.b.A", "a.b.C")), classNameTable.getClassNamesInPackage("a.b"));
+        Assert.assertEquals(Collections.singleton("a.b.c.D"), classNameTable.getClassNamesInPackage("a.b.c"));
+        Assert.assertEquals(Collections.singleton("Default"), classNameTable.getClassNamesInPackage("Default"));
+        Assert.assertNull(classNameTable.getClassNamesInPackage("b"));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("Default", "a", "a.b", "a.b.c")), classNameTable.getPackageNames());
+    }
+
+    @Test
+    public void testGetClassNamesInPackageRecursively() {
+        ClassNameTable classNameTable = ClassNameTable.of(Arrays.asList("a.b.C", "a.b.c.D", "a.b$c.E", "a.bc.F", "a.B"));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.b.C", "a.b.c.D")), classNameTable.getClassNamesInPackage("a.b", true));
+        Assert.assertEquals(Collections.singleton("a.b.C"), classNameTable.getClassNamesInPackage("a.b", false));
+        Assert.assertEquals(Collections.singleton("a.b.c.D"), classNameTable.getClassNamesInPackage("a.b.c", true));
+        Assert.assertEquals(5, classNameTable.getClassNamesInPackage("a", true).size());
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.b.C", "a.b.c.D", "a.b$c.E", "a.bc.F")),
+                ClassNameTable.of(Arrays.asList("a.b.C", "a.b.c.D", "a.b$c.E", "a.bc.F")).getClassNamesInPackage("a", true));
+        Assert.assertTrue(classNameTable.getClassNamesInPackage("b", true).isEmpty());
+        Assert.assertTrue(classNameTable.getClassNamesInPackage("b", false).isEmpty());
+    }
+
+    @Test
+    public void testUpdate() {
+        ClassNameTable classNameTable = ClassNameTable.of(Arrays.asList("a.A", "a.b.B", "a.b.c.C", "ab.D"));
+        classNameTable = classNameTable.update(Arrays.asList("a.E", "a.b.F"), Collections.singleton("a.A"),
+                Collections.singleton("a.b"));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.E", "a.b.F", "ab.D")), classNameTable.getClassNames());
+        Assert.assertNull(classNameTable.getClassNamesInPackage("a.b.c"));
+    }
+
+    @Test
+    public void testClassNameIndex() {
+        Map<String, ClassNameTable> classNameTables = new LinkedHashMap<>();
+        classNameTables.put("first.jar", ClassNameTable.of(Arrays.asList("a.A", "a.B")));
+        classNameTables.put("empty.jar", ClassNameTable.EMPTY);
+        classNameTables.put("second.jar", ClassNameTable.of(Arrays.asList("a.B", "b.C")));
+        ClassNameIndex classNameIndex = new ClassNameIndex(classNameTables);
+        Assert.assertEquals("first.jar", classNameIndex.findClassPath("a.A"));
+        Assert.assertEquals("first.jar", classNameIndex.findClassPath("a.B"));
+        Assert.assertEquals("second.jar", classNameIndex.findClassPath("b.C"));
+        Assert.assertNull(classNameIndex.findClassPath("c.D"));
+    }
+
+    @Test
+    public void testBloomFilter() {
+        NameBloomFilter bloomFilter = new NameBloomFilter(10000);
+        for (int i = 0; i < 10000; i++) {
+            bloomFilter.add("a.b.Class" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertTrue(bloomFilter.mightContain("a.b.Class" + i));
+            if (bloomFilter.mightContain("a.b.Absent" + i)) {
+                falsePositives++;
+            }
+        }
+        Assert.assertTrue(falsePositives < 100);
+    }
+
+    @Test
+    public void testCompactStructure() {
+        List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j < 200; j++) {
+                classNames.add("io.github.microsphere.generated.p" + i + ".Class" + j);
+            }
+        }
+        ClassNameTable classNameTable = ClassNameTable.of(classNames);
+        // One entry per class name and per package name, without the per-entry sets of the package names
+        Assert.assertEquals(classNames.size(), classNameTable.size());
+        Assert.assertEquals(500, classNameTable.getPackageNames().size());
+        // The class names are shared with the source rather than copied, and the packages are the views on the table
+        for (String className : classNames) {
+            Assert.assertSame(className, classNameTable.get(classNameTable.indexOf(className)));
+        }
+        Assert.assertEquals(200, classNameTable.getClassNamesInPackage("io.github.microsphere.generated.p0").size());
+        Assert.assertEquals(classNames.size(), classNameTable.getClassNamesInPackage("io.github.microsphere.generated", true).size());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * {@link ClassPathIndexCache} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassPathIndexCache
+ * @since 1.0.0
+ */
+public class ClassPathIndexCacheTest extends AbstractTestCase {
+
+    private File tempDirectory;
+
+    private ClassPathIndexCache classPathIndexCache;
+
+    @Before
+    public void init() throws IOException {
+        tempDirectory = Files.createTempDirectory("class-path-index-cache").toFile();
+        classPathIndexCache = new ClassPathIndexCache(new File(tempDirectory, "cache"));
+    }
+
+    @After
+    public void destroy() {
+        FileUtils.deleteQuietly(tempDirectory);
+    }
+
+    @Test
+    public void testGetAndPut() throws IOException {
+        File jarFile = new File(tempDirectory, "test.jar");
+        FileUtils.writeStringToFile(jarFile, "test", "UTF-8");
+
+        Assert.assertNull(classPathIndexCache.get(jarFile));
+
+        Set<String> classNames = new LinkedHashSet<>(Arrays.asList("io.github.microsphere.A", "io.github.microsphere.测试"));
+        classPathIndexCache.put(jarFile, jarFile.length(), jarFile.lastModified(), classNames);
+        Assert.assertEquals(classNames, classPathIndexCache.get(jarFile));
+
+        // The jar file was changed
+        long length = jarFile.length();
+        long lastModified = jarFile.lastModified();
+        FileUtils.writeStringToFile(jarFile, "test-changed", "UTF-8");
+        Assert.assertNull(classPathIndexCache.get(jarFile));
+
+        // The jar file was changed during scanning, thus the cache is invalid
+        classPathIndexCache.put(jarFile, length, lastModified, classNames);
+        Assert.assertNull(classPathIndexCache.get(jarFile));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link ClassPathIndexWatcher} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ClassPathIndexWatcher
+ * @since 1.0.0
+ */
+public class ClassPathIndexWatcherTest extends AbstractTestCase {
+
+    @Test
+    public void testWatch() throws Exception {
+        String classPath = ClassUtils.findClassPath(ClassPathIndexWatcherTest.class);
+        if (classPath == null || !new File(classPath).isDirectory()) { // The test classes are not in a directory
+            return;
+        }
+        // The package is unique in the directory class path, thus it's absent in the other class paths
+        final String packageName = "io.github.microsphere.commons.util.watched" + System.nanoTime();
+        final String className = packageName + ".A";
+        final String subClassName = packageName + ".b.B";
+        File packageDirectory = new File(classPath, packageName.replace('.', File.separatorChar));
+
+        // The class path is indexed before watching
+        Assert.assertFalse(ClassUtils.getClassNamesInClassPath(classPath, true).isEmpty());
+        Assert.assertNull(ClassUtils.findClassPath(className));
+        Assert.assertTrue(ClassUtils.getClassNamesInPackage(packageName).isEmpty());
+
+        ClassPathIndexWatcher classPathIndexWatcher = ClassPathIndexWatcher.start();
+        Assert.assertNotNull(classPathIndexWatcher);
+        try {
+            classPathIndexWatcher.watch(classPath);
+
+            // The class file is added
+            touchClassFile(packageDirectory, "A.class");
+            waitUntil(() -> classPath.equals(ClassUtils.findClassPath(className)));
+            Assert.assertEquals(Collections.singleton(className), ClassUtils.getClassNamesInPackage(packageName));
+
+            // The class file is deleted
+            Assert.assertTrue(new File(packageDirectory, "A.class").delete());
+            waitUntil(() -> ClassUtils.findClassPath(className) == null);
+            Assert.assertTrue(ClassUtils.getClassNamesInPackage(packageName).isEmpty());
+
+            // The class file in the new sub-directory is added, and then the whole package directory is deleted
+            touchClassFile(new File(packageDirectory, "b"), "B.class");
+            waitUntil(() -> classPath.equals(ClassUtils.findClassPath(subClassName)));
+            Assert.assertEquals(Collections.singleton(subClassName), ClassUtils.getClassNamesInPackage(packageName + ".b"));
+            FileUtils.deleteDirectory(packageDirectory);
+            waitUntil(() -> ClassUtils.findClassPath(subClassName) == null);
+            Assert.assertTrue(ClassUtils.getClassNamesInPackage(packageName + ".b").isEmpty());
+        } finally {
+            classPathIndexWatcher.stop();
+            FileUtils.deleteQuietly(packageDirectory);
+        }
+    }
+
+    private void touchClassFile(File directory, String fileName) throws IOException {
+        FileUtils.forceMkdir(directory);
+        FileUtils.touch(new File(directory, fileName));
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        // The events are delivered by polling on some platforms, e.g the period of polling is 10 seconds on macOS
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("The change of class path was not applied in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -4,15 +4,45 @@
 package io.github.microsphere.commons.util;
 
 import io.github.microsphere.commons.AbstractTestCase;
+import io.github.microsphere.commons.filter.FilterUtils;
+import io.github.microsphere.commons.filter.PackageNameClassNameFilter;
 import io.github.microsphere.commons.reflect.ReflectionUtils;
 import junit.framework.Assert;
+import io.github.microsphere.commons.util.jar.JarClassIndex;
+import io.github.microsphere.commons.util.jar.JarFileCache;
+import io.github.microsphere.commons.util.jar.JarUtils;
+import io.github.microsphere.commons.util.jar.ZipCentralDirectory;
 import junit.framework.TestCase;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+import java.util.stream.Stream;
 
 /**
  * {@link ClassUtils} {@link TestCase}
@@ -62,10 +92,28 @@ public class ClassUtilsTest extends AbstractTestCase {
         Assert.assertNotNull(classPath);
     }
 
+    @Test
+    public void testFindClassPathOnAbsentClass() {
+        Assert.assertNull(ClassUtils.findClassPath("io.github.microsphere.commons.util.NonExistedClass"));
+        Assert.assertTrue(ClassUtils.getClassNamesInPackage("io.github.microsphere.commons.non.existed").isEmpty());
+
+        // The index was built on the first miss, the second one is rejected by the bloom filter
+        ClassPathLookupStatistics statistics = ClassUtils.getClassPathLookupStatistics();
+        Assert.assertNull(ClassUtils.findClassPath("io.github.microsphere.commons.util.NonExistedClass"));
+        ClassPathLookupStatistics newStatistics = ClassUtils.getClassPathLookupStatistics();
+        Assert.assertEquals(statistics.getMisses() + 1, newStatistics.getMisses());
+        Assert.assertEquals(statistics.getRejections() + 1, newStatistics.getRejections());
+    }
+
     @Test
     public void testGetAllClassNamesMapInClassPath() {
         Map<String, Set<String>> allClassNamesMapInClassPath = ClassUtils.getClassPathToClassNamesMap();
         Assert.assertFalse(allClassNamesMapInClassPath.isEmpty());
+
+        // The order of class paths must be kept whatever the parallelism is
+        List<String> classPaths = new ArrayList<>(ClassPathUtils.getBootstrapClassPaths());
+        classPaths.addAll(ClassPathUtils.getClassPaths());
+        Assert.assertEquals(new ArrayList<>(new LinkedHashSet<>(classPaths)), new ArrayList<>(allClassNamesMapInClassPath.keySet()));
     }
 
     @Test
@@ -74,6 +122,141 @@ public class ClassUtilsTest extends AbstractTestCase {
         Assert.assertFalse(allClassNames.isEmpty());
     }
 
+    @Test
+    public void testStreamAllClassNamesInClassPaths() {
+        try (Stream<String> classNames = ClassUtils.streamAllClassNamesInClassPaths()) {
+            String className = classNames.filter(name -> name.endsWith("ClassUtils")).findFirst().orElse(null);
+            Assert.assertNotNull(className);
+        }
+        try (Stream<String> classNames = ClassUtils.streamAllClassNamesInClassPaths()) {
+            Set<String> allClassNames = classNames.parallel().collect(Collectors.toSet());
+            Assert.assertEquals(ClassUtils.getAllClassNamesInClassPaths(), allClassNames);
+        }
+    }
+
+    @Test
+    public void testStreamClassNamesInPackage() {
+        assertClassNamesInPackage(ClassUtils.findClassPath(StringUtils.class), "org.apache.commons.lang3");
+        assertClassNamesInPackage(ClassUtils.findClassPath(ClassUtilsTest.class), "io.github.microsphere.commons");
+    }
+
+    @Test
+    public void testStreamClassNamesInJarFileReleasedOnExhaustion() throws IOException {
+        File directory = Files.createTempDirectory("class-utils").toFile();
+        try {
+            File jarFile = new File(directory, "inconsistent.jar");
+            // The lease of JarFile is acquired, since the central directory is rejected by ZipCentralDirectory
+            FileUtils.writeByteArrayToFile(jarFile, createInconsistentZip64Jar("a/A.class"));
+            try {
+                ZipCentralDirectory.read(jarFile);
+                Assert.fail("The central directory must be rejected");
+            } catch (ZipException e) {
+            }
+
+            JarFileCache jarFileCache = JarUtils.getJarFileCache();
+            long opens = jarFileCache.getStatistics().getOpens();
+            // The stream is consumed completely without being closed
+            Assert.assertEquals(Collections.singletonList("a.A"),
+                    ClassUtils.streamClassNamesInJarFile(jarFile, true).collect(Collectors.toList()));
+            Assert.assertEquals(opens + 1, jarFileCache.getStatistics().getOpens());
+
+            // The stale JarFile is closed on the next acquiring only if it was released, then the new one is opened
+            long openJarFiles = jarFileCache.getStatistics().getOpenJarFiles();
+            Assert.assertTrue(jarFile.setLastModified(jarFile.lastModified() - TimeUnit.MINUTES.toMillis(1)));
+            jarFileCache.acquire(jarFile).close();
+            Assert.assertEquals(opens + 2, jarFileCache.getStatistics().getOpens());
+            Assert.assertEquals(openJarFiles, jarFileCache.getStatistics().getOpenJarFiles());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testStreamClassNamesInJarFileWithClassIndex() throws IOException {
+        File directory = Files.createTempDirectory("class-utils").toFile();
+        try {
+            File jarFile = new File(directory, "indexed.jar");
+            try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+                outputStream.putNextEntry(new JarEntry(JarClassIndex.RESOURCE_NAME));
+                JarClassIndex.of(Arrays.asList("a.A", "b.B", "C")).write(outputStream);
+                outputStream.closeEntry();
+                outputStream.putNextEntry(new JarEntry("a/A.class"));
+                outputStream.closeEntry();
+            }
+            // The class names are read from the class index rather than the class file entries
+            for (boolean recursive : new boolean[]{true, false}) {
+                Set<String> classNames = ClassUtils.findClassNamesInJarFile(jarFile, recursive);
+                Assert.assertEquals(recursive ? new HashSet<>(Arrays.asList("a.A", "b.B", "C")) : Collections.singleton("C"), classNames);
+                try (Stream<String> classNamesStream = ClassUtils.streamClassNamesInJarFile(jarFile, recursive)) {
+                    Assert.assertEquals(classNames, classNamesStream.collect(Collectors.toSet()));
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * Create the jar whose ZIP64 End-Of-Central-Directory record is inconsistent with the End-Of-Central-Directory
+     * record, it's ignored by {@link java.util.jar.JarFile}, but trusted by {@link ZipCentralDirectory}
+     *
+     * @param entryName the name of the only entry, whose STORED data is the ZIP64 End-Of-Central-Directory record
+     * @return the bytes of jar
+     */
+    private static byte[] createInconsistentZip64Jar(String entryName) throws IOException {
+        ByteBuffer zip64End = ByteBuffer.allocate(56).order(ByteOrder.LITTLE_ENDIAN);
+        zip64End.putInt(0x06064b50).putLong(44).putShort((short) 45).putShort((short) 45).putInt(0).putInt(0)
+                .putLong(1).putLong(1).putLong(Long.MAX_VALUE).putLong(0);
+        byte[] data = zip64End.array();
+        long zip64EndOffset = 0;
+        byte[] jarBytes = null;
+        // The offset of ZIP64 End-Of-Central-Directory record is found by the first round
+        for (int round = 0; round < 2; round++) {
+            ByteBuffer zip64Locator = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+            zip64Locator.putInt(0x07064b50).putInt(0).putLong(zip64EndOffset).putInt(1);
+            ZipEntry zipEntry = new ZipEntry(entryName);
+            CRC32 crc32 = new CRC32();
+            crc32.update(data);
+            zipEntry.setMethod(ZipEntry.STORED);
+            zipEntry.setSize(data.length);
+            zipEntry.setCrc(crc32.getValue());
+            // The comment of the last entry precedes the End-Of-Central-Directory record as the ZIP64 locator
+            zipEntry.setComment(new String(zip64Locator.array(), StandardCharsets.ISO_8859_1));
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            try (ZipOutputStream outputStream = new ZipOutputStream(byteArrayOutputStream, StandardCharsets.ISO_8859_1)) {
+                outputStream.putNextEntry(zipEntry);
+                outputStream.write(data);
+                outputStream.closeEntry();
+            }
+            jarBytes = byteArrayOutputStream.toByteArray();
+            zip64EndOffset = indexOf(jarBytes, data);
+        }
+        return jarBytes;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i <= bytes.length - target.length; i++) {
+            if (Arrays.equals(target, Arrays.copyOfRange(bytes, i, i + target.length))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void assertClassNamesInPackage(String classPath, String packageName) {
+        Set<String> classNames = ClassUtils.findClassNamesInClassPath(classPath, true);
+        for (boolean recursive : new boolean[]{true, false}) {
+            Set<String> expectedClassNames = new HashSet<>(FilterUtils.filter(classNames, new PackageNameClassNameFilter(packageName, recursive)));
+            Assert.assertFalse(expectedClassNames.isEmpty());
+            try (Stream<String> classNamesInPackage = ClassUtils.streamClassNamesInPackage(classPath, packageName, recursive)) {
+                Assert.assertEquals(expectedClassNames, classNamesInPackage.collect(Collectors.toSet()));
+            }
+        }
+        try (Stream<String> classNamesInPackage = ClassUtils.streamClassNamesInPackage(classPath, packageName + ".absent", true)) {
+            Assert.assertEquals(0, classNamesInPackage.count());
+        }
+    }
+
     @Test
     public void testGetCodeSourceLocation() throws IOException {
         URL codeSourceLocation = null;
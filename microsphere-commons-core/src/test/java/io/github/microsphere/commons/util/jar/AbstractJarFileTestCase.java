@@ -0,0 +1,132 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+/**
+ * Abstract {@link java.util.jar.JarFile} {@link org.junit.Test} case, which creates the jar files in the temporary
+ * directory of each test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see AbstractTestCase
+ * @since 1.0.0
+ */
+@Ignore
+public abstract class AbstractJarFileTestCase extends AbstractTestCase {
+
+    /**
+     * The temporary directory of current test, which is deleted after the test
+     */
+    protected File tempDirectory;
+
+    @Before
+    public void createTempDirectory() throws IOException {
+        tempDirectory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    }
+
+    @After
+    public void deleteTempDirectory() {
+        FileUtils.deleteQuietly(tempDirectory);
+    }
+
+    /**
+     * Create the jar file in the {@link #tempDirectory temporary directory}
+     *
+     * @param fileName         the name of jar file
+     * @param namesAndContents the pairs of entry name and content, see {@link #createJar(Object...)}
+     * @return the created jar file
+     */
+    protected File createJarFile(String fileName, Object... namesAndContents) throws IOException {
+        File jarFile = new File(tempDirectory, fileName);
+        FileUtils.writeByteArrayToFile(jarFile, createJar(namesAndContents));
+        return jarFile;
+    }
+
+    /**
+     * Create the jar file whose entries are the directories or the empty files in the {@link #tempDirectory temporary
+     * directory}
+     *
+     * @param fileName   the name of jar file
+     * @param entryNames the names of entries, the directory names end with "/"
+     * @return the created jar file
+     */
+    protected File createJarFileOfEntries(String fileName, String... entryNames) throws IOException {
+        Object[] namesAndContents = new Object[entryNames.length * 2];
+        for (int i = 0; i < entryNames.length; i++) {
+            namesAndContents[i * 2] = entryNames[i];
+        }
+        return createJarFile(fileName, namesAndContents);
+    }
+
+    /**
+     * Create the content of jar
+     *
+     * @param namesAndContents the pairs of entry name and content, the content is {@link String} in UTF-8, byte array,
+     *                         {@link #stored(byte[]) the STORED content} or <code>null</code> for the directory or the
+     *                         empty file
+     * @return the bytes of jar
+     */
+    protected static byte[] createJar(Object... namesAndContents) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (JarOutputStream outputStream = new JarOutputStream(byteArrayOutputStream)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                putEntry(outputStream, (String) namesAndContents[i], namesAndContents[i + 1]);
+            }
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * @param data the data of entry
+     * @return the content of entry which is STORED without compression
+     */
+    protected static Object stored(byte[] data) {
+        return new StoredContent(data);
+    }
+
+    private static void putEntry(JarOutputStream outputStream, String entryName, Object content) throws IOException {
+        JarEntry jarEntry = new JarEntry(entryName);
+        byte[] data;
+        if (content instanceof StoredContent) {
+            data = ((StoredContent) content).data;
+            CRC32 crc32 = new CRC32();
+            crc32.update(data);
+            jarEntry.setMethod(ZipEntry.STORED);
+            jarEntry.setSize(data.length);
+            jarEntry.setCrc(crc32.getValue());
+        } else if (content instanceof String) {
+            data = ((String) content).getBytes("UTF-8");
+        } else {
+            data = (byte[]) content;
+        }
+        outputStream.putNextEntry(jarEntry);
+        if (data != null) {
+            outputStream.write(data);
+        }
+        outputStream.closeEntry();
+    }
+
+    private static class StoredContent {
+
+        private final byte[] data;
+
+        StoredContent(byte[] data) {
+            this.data = data;
+        }
+    }
+}
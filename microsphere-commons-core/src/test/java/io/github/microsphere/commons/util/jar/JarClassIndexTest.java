@@ -0,0 +1,62 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.filter.ClassFileJarEntryFilter;
+import io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner;
+import io.github.microsphere.commons.util.ClassUtils;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+/**
+ * {@link JarClassIndex} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarClassIndex
+ * @since 1.0.0
+ */
+public class JarClassIndexTest extends AbstractJarFileTestCase {
+
+    @Test
+    public void testGenerateAndRead() throws IOException {
+        File classesDirectory = new File(tempDirectory, "classes");
+        for (String resourceName : Arrays.asList("a/A.class", "a/A$1.class", "a/b/B.class", "C.class")) {
+            FileUtils.touch(new File(classesDirectory, resourceName));
+        }
+
+        JarClassIndex classIndex = new JarClassIndexGenerator().generate(classesDirectory);
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("C", "a.A", "a.A$1", "a.b.B")), classIndex.getClassNames());
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("C", "a", "a.b")), classIndex.getPackageNames());
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.A", "a.A$1")), classIndex.getClassNames("a/", false));
+        Assert.assertEquals(Collections.singleton("C"), classIndex.getClassNames("", false));
+
+        File jarFile = new File(tempDirectory, "indexed.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            for (String resourceName : Arrays.asList(JarClassIndex.RESOURCE_NAME, "a/A.class", "a/A$1.class", "a/b/B.class", "C.class")) {
+                outputStream.putNextEntry(new JarEntry(resourceName));
+                FileUtils.copyFile(new File(classesDirectory, resourceName), outputStream);
+                outputStream.closeEntry();
+            }
+        }
+
+        try (JarFile jar = new JarFile(jarFile)) {
+            Assert.assertEquals(classIndex.getClassNames(), JarClassIndex.read(jar).getClassNames());
+            Set<JarEntry> jarEntries = SimpleJarEntryScanner.INSTANCE.scan(jar, true, ClassFileJarEntryFilter.INSTANCE);
+            Assert.assertEquals(4, jarEntries.size());
+        }
+        Assert.assertEquals(classIndex.getClassNames(), ClassUtils.findClassNamesInClassPath(jarFile.getAbsolutePath(), true));
+    }
+}
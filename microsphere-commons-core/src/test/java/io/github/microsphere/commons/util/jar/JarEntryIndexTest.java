@@ -0,0 +1,102 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * {@link JarEntryIndex} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarEntryIndex
+ * @since 1.0.0
+ */
+public class JarEntryIndexTest extends AbstractJarFileTestCase {
+
+    @Test
+    public void testGetEntryNames() throws IOException {
+        File jarFile = createJarFileOfEntries("entries.jar", "a/", "a/A.class", "a/b/", "a/b/B.class", "a/b/c/C.class", "a-d/D.class",
+                "ab/E.class", "F.class");
+
+        try (JarFile jar = new JarFile(jarFile)) {
+            JarEntryIndex jarEntryIndex = JarEntryIndex.get(jar);
+            Assert.assertEquals(8, jarEntryIndex.size());
+            Assert.assertSame(jarEntryIndex, JarEntryIndex.get(jar));
+            Assert.assertTrue(jarEntryIndex.contains("a/b/B.class"));
+            Assert.assertFalse(jarEntryIndex.contains("a/B.class"));
+
+            Assert.assertEquals(Arrays.asList("a/", "a/A.class", "a/b/", "a/b/B.class", "a/b/c/C.class"), jarEntryIndex.getEntryNames("a/", true));
+            Assert.assertEquals(Arrays.asList("a/", "a/A.class"), jarEntryIndex.getEntryNames("a/", false));
+            Assert.assertEquals(Arrays.asList("a/b/", "a/b/B.class"), jarEntryIndex.getEntryNames("a/b/", false));
+            Assert.assertEquals(Collections.singletonList("F.class"), jarEntryIndex.getEntryNames("", false));
+            Assert.assertTrue(jarEntryIndex.getEntryNames("x/", true).isEmpty());
+
+            // As same as the entries enumerated linearly
+            for (String relativePath : Arrays.asList("", "a/", "a/b/", "a", "x/")) {
+                for (boolean recursive : new boolean[]{true, false}) {
+                    Set<String> entryNames = new HashSet<>();
+                    for (JarEntry jarEntry : Collections.list(jar.entries())) {
+                        String entryName = jarEntry.getName();
+                        if (entryName.startsWith(relativePath) && (recursive || entryName.equals(relativePath)
+                                || entryName.indexOf('/', relativePath.length()) < 0)) {
+                            entryNames.add(entryName);
+                        }
+                    }
+                    List<String> indexedEntryNames = jarEntryIndex.getEntryNames(relativePath, recursive);
+                    Assert.assertEquals(new HashSet<>(indexedEntryNames), entryNames);
+                }
+            }
+        }
+
+        // The stale index will be rebuilt
+        jarFile = createJarFileOfEntries("entries.jar", "a/A.class");
+        try (JarFile jar = new JarFile(jarFile)) {
+            Assert.assertEquals(Collections.singletonList("a/A.class"), JarEntryIndex.get(jar).getEntryNames());
+        }
+    }
+
+    @Test
+    public void testExtract() throws IOException {
+        File jarFile = createJarFileOfEntries("entries.jar", "a/", "a/A.class", "a/b/B.class", "ab/C.class");
+        File targetDirectory = new File(tempDirectory, "target");
+        JarUtils.extract(new URL("jar:" + jarFile.toURI() + "!/a/"), targetDirectory, null);
+        Assert.assertTrue(new File(targetDirectory, "a/A.class").isFile());
+        Assert.assertTrue(new File(targetDirectory, "a/b/B.class").isFile());
+        Assert.assertFalse(new File(targetDirectory, "ab").exists());
+    }
+
+    @Test
+    public void testCacheEviction() throws IOException {
+        JarEntryIndex eldestJarEntryIndex = null;
+        File eldestJarFile = null;
+        for (int i = 0; i <= JarEntryIndex.CACHE_SIZE; i++) {
+            File jarFile = createJarFileOfEntries("entries-" + i + ".jar", "a/A.class");
+            try (JarFile jar = new JarFile(jarFile)) {
+                JarEntryIndex jarEntryIndex = JarEntryIndex.get(jar);
+                if (i == 0) {
+                    eldestJarEntryIndex = jarEntryIndex;
+                    eldestJarFile = jarFile;
+                }
+            }
+        }
+        // The eldest index was evicted, thus it's rebuilt
+        try (JarFile jar = new JarFile(eldestJarFile)) {
+            JarEntryIndex jarEntryIndex = JarEntryIndex.get(jar);
+            Assert.assertNotSame(eldestJarEntryIndex, jarEntryIndex);
+            Assert.assertSame(jarEntryIndex, JarEntryIndex.get(jar));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipException;
+
+/**
+ * {@link JarExtractor} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarExtractor
+ * @since 1.0.0
+ */
+public class JarExtractorTest extends AbstractJarFileTestCase {
+
+    @Test
+    public void testExtract() throws IOException {
+        byte[] data = StringUtils.repeat("microsphere", 1000).getBytes("UTF-8");
+        List<Object> namesAndContents = new ArrayList<>(Arrays.asList("empty/", null));
+        for (int i = 0; i < 10; i++) {
+            namesAndContents.addAll(Arrays.asList("a/b/deflated-" + i + ".txt", data,
+                    "c/stored-" + i + ".txt", stored(data)));
+        }
+        File jarFile = createJarFile("source.jar", namesAndContents.toArray());
+
+        for (int parallelism : new int[]{1, 4}) {
+            File targetDirectory = new File(tempDirectory, "target-" + parallelism);
+            JarExtractionStatistics statistics = new JarExtractor(parallelism).extract(jarFile, targetDirectory, null);
+            Assert.assertEquals(20, statistics.getFiles());
+            Assert.assertEquals(3, statistics.getDirectories());
+            Assert.assertEquals(20L * data.length, statistics.getBytes());
+            Assert.assertTrue(statistics.getElapsedTime(TimeUnit.NANOSECONDS) > 0);
+            Assert.assertTrue(new File(targetDirectory, "empty").isDirectory());
+            for (int i = 0; i < 10; i++) {
+                Assert.assertTrue(Arrays.equals(data, FileUtils.readFileToByteArray(new File(targetDirectory, "a/b/deflated-" + i + ".txt"))));
+                Assert.assertTrue(Arrays.equals(data, FileUtils.readFileToByteArray(new File(targetDirectory, "c/stored-" + i + ".txt"))));
+            }
+        }
+
+        // The existed files are overwritten
+        File targetDirectory = new File(tempDirectory, "target-4");
+        FileUtils.writeByteArrayToFile(new File(targetDirectory, "c/stored-0.txt"), new byte[data.length * 2]);
+        JarUtils.extract(jarFile, targetDirectory);
+        Assert.assertTrue(Arrays.equals(data, FileUtils.readFileToByteArray(new File(targetDirectory, "c/stored-0.txt"))));
+    }
+
+    @Test
+    public void testExtractIncrementally() throws IOException {
+        File targetDirectory = new File(tempDirectory, "target");
+        File jarFile = createJarFile("source.jar", "a.txt", "A", "b/b.txt", "B", "c/d/c.txt", "C");
+
+        JarExtractionStatistics statistics = JarUtils.extractIncrementally(jarFile, targetDirectory, null);
+        Assert.assertEquals(3, statistics.getFiles());
+        Assert.assertEquals(0, statistics.getSkippedFiles());
+        Assert.assertTrue(new File(targetDirectory, JarExtractor.MANIFEST_FILE_NAME).isFile());
+
+        // Only the changed and the absent entries are rewritten, and the stale files are deleted
+        jarFile = createJarFile("source.jar", "a.txt", "A", "b/b.txt", "BB", "e.txt", "E");
+        File unchangedFile = new File(targetDirectory, "a.txt");
+        Assert.assertTrue(unchangedFile.setLastModified(unchangedFile.lastModified() - TimeUnit.MINUTES.toMillis(1)));
+        long lastModified = unchangedFile.lastModified();
+        statistics = JarUtils.extractIncrementally(jarFile, targetDirectory, null);
+        Assert.assertEquals(2, statistics.getFiles());
+        Assert.assertEquals(3L, statistics.getBytes());
+        Assert.assertEquals(1, statistics.getSkippedFiles());
+        Assert.assertEquals(1, statistics.getDeletedFiles());
+        Assert.assertEquals(lastModified, unchangedFile.lastModified());
+        Assert.assertEquals("BB", FileUtils.readFileToString(new File(targetDirectory, "b/b.txt"), "UTF-8"));
+        Assert.assertEquals("E", FileUtils.readFileToString(new File(targetDirectory, "e.txt"), "UTF-8"));
+        Assert.assertFalse(new File(targetDirectory, "c").exists());
+
+        // The deleted file is restored
+        FileUtils.deleteQuietly(new File(targetDirectory, "e.txt"));
+        statistics = JarUtils.extractIncrementally(jarFile, targetDirectory, null);
+        Assert.assertEquals(1, statistics.getFiles());
+        Assert.assertEquals(2, statistics.getSkippedFiles());
+        Assert.assertEquals("E", FileUtils.readFileToString(new File(targetDirectory, "e.txt"), "UTF-8"));
+    }
+
+    @Test
+    public void testExtractOutsideTargetDirectory() throws IOException {
+        File targetDirectory = new File(tempDirectory, "target");
+        File outsideFile = new File(tempDirectory, "outside.txt");
+
+        // The entry escaping from the target directory is rejected
+        File jarFile = createJarFile("escaping.jar", "a.txt", "A", "../outside.txt", "O");
+        try {
+            new JarExtractor(1).extract(jarFile, targetDirectory, null);
+            Assert.fail();
+        } catch (ZipException e) {
+            Assert.assertFalse(outsideFile.exists());
+        }
+        try {
+            JarUtils.extractIncrementally(jarFile, targetDirectory, null);
+            Assert.fail();
+        } catch (ZipException e) {
+            Assert.assertFalse(outsideFile.exists());
+        }
+
+        // The stale entry of tampered manifest file is never deleted outside the target directory
+        jarFile = createJarFile("source.jar", "a.txt", "A", "zz/outside.txt", "O");
+        JarUtils.extractIncrementally(jarFile, targetDirectory, null);
+        File manifestFile = new File(targetDirectory, JarExtractor.MANIFEST_FILE_NAME);
+        byte[] bytes = FileUtils.readFileToByteArray(manifestFile);
+        int index = new String(bytes, "ISO-8859-1").indexOf("zz/outside.txt");
+        bytes[index] = bytes[index + 1] = '.';
+        FileUtils.writeByteArrayToFile(manifestFile, bytes);
+        FileUtils.writeStringToFile(outsideFile, "O", "UTF-8");
+
+        jarFile = createJarFile("source.jar", "a.txt", "A");
+        JarExtractionStatistics statistics = JarUtils.extractIncrementally(jarFile, targetDirectory, null);
+        Assert.assertEquals(0, statistics.getDeletedFiles());
+        Assert.assertTrue(outsideFile.exists());
+    }
+
+    @Test
+    public void testExtractSignedJar() throws Exception {
+        File keytool = findJdkTool("keytool");
+        File jarsigner = findJdkTool("jarsigner");
+        if (keytool == null || jarsigner == null) { // The JDK tools are absent in JRE
+            return;
+        }
+        File keyStore = new File(tempDirectory, "test.jks");
+        execute(keytool.getPath(), "-genkeypair", "-keystore", keyStore.getPath(), "-storepass", "microsphere",
+                "-keypass", "microsphere", "-alias", "test", "-dname", "CN=test", "-keyalg", "RSA", "-validity", "1");
+
+        byte[] data = "microsphere-signed-content".getBytes("UTF-8");
+        File signedJarFile = createSignedJarFile("signed.jar", data, jarsigner, keyStore);
+        File targetDirectory = new File(tempDirectory, "signed");
+        new JarExtractor(1).extract(signedJarFile, targetDirectory, null);
+        Assert.assertTrue(Arrays.equals(data, FileUtils.readFileToByteArray(new File(targetDirectory, "stored.txt"))));
+
+        // The tampered STORED entry of signed jar must be verified rather than being transferred directly
+        File tamperedJarFile = createSignedJarFile("tampered.jar", data, jarsigner, keyStore);
+        byte[] bytes = FileUtils.readFileToByteArray(tamperedJarFile);
+        int index = new String(bytes, "ISO-8859-1").indexOf("microsphere-signed-content");
+        bytes[index] = 'M';
+        FileUtils.writeByteArrayToFile(tamperedJarFile, bytes);
+        try {
+            new JarExtractor(1).extract(tamperedJarFile, new File(tempDirectory, "tampered"), null);
+            Assert.fail();
+        } catch (SecurityException e) {
+            // The digest of entry doesn't match
+        }
+    }
+
+    private File createSignedJarFile(String fileName, byte[] data, File jarsigner, File keyStore) throws Exception {
+        File jarFile = createJarFile(fileName, "stored.txt", stored(data));
+        execute(jarsigner.getPath(), "-keystore", keyStore.getPath(), "-storepass", "microsphere", jarFile.getPath(), "test");
+        return jarFile;
+    }
+
+    private File findJdkTool(String name) {
+        for (String directory : new String[]{"bin", "../bin"}) {
+            File tool = new File(new File(SystemUtils.JAVA_HOME, directory), SystemUtils.IS_OS_WINDOWS ? name + ".exe" : name);
+            if (tool.isFile()) {
+                return tool;
+            }
+        }
+        return null;
+    }
+
+    private void execute(String... command) throws Exception {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = IOUtils.toString(process.getInputStream(), "UTF-8");
+        Assert.assertEquals(output, 0, process.waitFor());
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * {@link JarFileCache} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JarFileCache
+ * @since 1.0.0
+ */
+public class JarFileCacheTest extends AbstractJarFileTestCase {
+
+    @Test
+    public void testAcquire() throws IOException {
+        File firstJarFile = createJarFileOfEntries("first.jar", "a/A.class");
+        File secondJarFile = createJarFileOfEntries("second.jar", "b/B.class");
+        JarFileCache jarFileCache = new JarFileCache(1, 1, TimeUnit.MINUTES);
+
+        JarFile firstJar;
+        try (JarFileCache.Lease lease = jarFileCache.acquire(firstJarFile);
+             JarFileCache.Lease anotherLease = jarFileCache.acquire(new File(tempDirectory, "../" + tempDirectory.getName() + "/first.jar"))) {
+            firstJar = lease.getJarFile();
+            Assert.assertSame(firstJar, anotherLease.getJarFile());
+            try (JarFileCache.Lease secondLease = jarFileCache.acquire(secondJarFile)) {
+                // The leased JarFiles are never closed, even if the max size is exceeded
+                Assert.assertEquals(2, jarFileCache.size());
+                Assert.assertNotNull(secondLease.getJarFile().getJarEntry("b/B.class"));
+            }
+            Assert.assertNotNull(firstJar.getJarEntry("a/A.class"));
+        }
+        Assert.assertEquals(1, jarFileCache.size());
+
+        JarFileCacheStatistics statistics = jarFileCache.getStatistics();
+        Assert.assertEquals(1, statistics.getHits());
+        Assert.assertEquals(2, statistics.getMisses());
+        Assert.assertEquals(2, statistics.getOpens());
+        Assert.assertEquals(1, statistics.getOpenJarFiles());
+
+        // The stale JarFile will be closed after it was released
+        try (JarFileCache.Lease lease = jarFileCache.acquire(firstJarFile)) {
+            JarFile jarFile = lease.getJarFile();
+            Assert.assertTrue(firstJarFile.setLastModified(firstJarFile.lastModified() - TimeUnit.MINUTES.toMillis(1)));
+            try (JarFileCache.Lease anotherLease = jarFileCache.acquire(firstJarFile)) {
+                Assert.assertNotSame(jarFile, anotherLease.getJarFile());
+            }
+            Assert.assertNotNull(jarFile.getJarEntry("a/A.class"));
+        }
+        Assert.assertEquals(1, jarFileCache.getStatistics().getOpenJarFiles());
+
+        jarFileCache.close();
+        Assert.assertEquals(0, jarFileCache.size());
+        Assert.assertEquals(0, jarFileCache.getStatistics().getOpenJarFiles());
+    }
+
+    @Test
+    public void testAcquireInvalidJarFile() throws IOException {
+        File jarFile = createJarFileOfEntries("invalid.jar", "a/A.class");
+        JarFileCache jarFileCache = new JarFileCache(10, 1, TimeUnit.MINUTES);
+        jarFileCache.acquire(jarFile).close();
+        Assert.assertEquals(1, jarFileCache.getStatistics().getOpenJarFiles());
+
+        // The stale JarFile is closed, even if the replaced jar file is invalid
+        FileUtils.writeStringToFile(jarFile, "invalid", "UTF-8");
+        try {
+            jarFileCache.acquire(jarFile);
+            Assert.fail("The invalid jar file must not be opened");
+        } catch (IOException e) {
+        }
+        Assert.assertEquals(0, jarFileCache.size());
+        Assert.assertEquals(0, jarFileCache.getStatistics().getOpenJarFiles());
+        jarFileCache.close();
+    }
+
+    @Test
+    public void testEvictIdle() throws IOException {
+        File jarFile = createJarFileOfEntries("idle.jar", "a/A.class");
+        JarFileCache jarFileCache = new JarFileCache(10, 0, TimeUnit.MILLISECONDS);
+        JarFileCache.Lease lease = jarFileCache.acquire(jarFile);
+        jarFileCache.evictIdle();
+        Assert.assertEquals(1, jarFileCache.size());
+        lease.close();
+        lease.close();
+        Assert.assertEquals(0, jarFileCache.size());
+        Assert.assertEquals(0, jarFileCache.getStatistics().getOpenJarFiles());
+    }
+
+    @Test
+    public void testEvictIdleInBackground() throws Exception {
+        File jarFile = createJarFileOfEntries("background.jar", "a/A.class");
+        JarFileCache jarFileCache = new JarFileCache(10, 100, TimeUnit.MILLISECONDS);
+        jarFileCache.acquire(jarFile).close();
+        Assert.assertEquals(1, jarFileCache.size());
+        // No more jar file is touched, the idle JarFile is closed by the background eviction
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (jarFileCache.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(0, jarFileCache.size());
+        Assert.assertEquals(0, jarFileCache.getStatistics().getOpenJarFiles());
+        jarFileCache.close();
+    }
+}
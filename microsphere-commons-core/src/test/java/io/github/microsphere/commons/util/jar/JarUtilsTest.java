@@ -14,6 +14,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Set;
@@ -74,6 +75,11 @@ public class JarUtilsTest {
         Assert.assertNotNull(jarEntry);
     }
 
+    @Test(expected = FileNotFoundException.class)
+    public void testFindJarEntryInAbsentJarFile() throws Exception {
+        JarUtils.findJarEntry(new URL("jar:file:/nonexistent/missing.jar!/META-INF/"));
+    }
+
     @Before
     public void init() throws IOException {
         FileUtils.deleteDirectory(targetDirectory);
@@ -0,0 +1,92 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner;
+import io.github.microsphere.commons.util.ClassUtils;
+import junit.framework.Assert;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.zip.ZipException;
+
+/**
+ * {@link NestedArchive} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see NestedArchive
+ * @since 1.0.0
+ */
+public class NestedArchiveTest extends AbstractJarFileTestCase {
+
+    private final static byte[] data = StringUtils.repeat("microsphere", 100).getBytes();
+
+    @Test
+    public void testOpen() throws IOException {
+        File jarFile = createExecutableJarFile();
+        String archivePath = jarFile.getAbsolutePath() + "!/";
+
+        Assert.assertEquals(Arrays.asList(archivePath + "BOOT-INF/classes", archivePath + "BOOT-INF/lib/stored.jar"),
+                NestedArchive.findNestedClassPaths(jarFile));
+
+        try (NestedArchive nestedArchive = NestedArchive.open(archivePath + "BOOT-INF/lib/stored.jar")) {
+            Assert.assertEquals("BOOT-INF/lib/stored.jar", nestedArchive.getEntryName());
+            Assert.assertEquals(archivePath + "BOOT-INF/lib/stored.jar", nestedArchive.getPath());
+            ZipCentralDirectory.Cursor cursor = nestedArchive.getCentralDirectory().cursor();
+            List<String> entryNames = new ArrayList<>();
+            while (cursor.next()) {
+                entryNames.add(cursor.getName());
+                if (!cursor.isDirectory()) {
+                    try (InputStream inputStream = nestedArchive.getInputStream(cursor)) {
+                        Assert.assertTrue(Arrays.equals(data, IOUtils.toByteArray(inputStream)));
+                    }
+                }
+            }
+            Assert.assertEquals(Arrays.asList("a/", "a/b/", "a/b/B.class", "a/C.txt"), entryNames);
+        }
+
+        try {
+            NestedArchive.open(jarFile, "BOOT-INF/lib/compressed.jar");
+            Assert.fail();
+        } catch (ZipException e) {
+        }
+
+        Assert.assertEquals(Collections.singleton("a.b.B"),
+                ClassUtils.findClassNamesInClassPath(archivePath + "BOOT-INF/lib/stored.jar", true));
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.A", "a.b.B")),
+                ClassUtils.findClassNamesInClassPath(archivePath + "BOOT-INF/classes", true));
+        Assert.assertEquals(Collections.emptySet(),
+                ClassUtils.findClassNamesInClassPath(archivePath + "BOOT-INF/classes", false));
+    }
+
+    @Test
+    public void testScan() throws IOException {
+        File jarFile = createExecutableJarFile();
+        URL nestedURL = new URL("jar:" + jarFile.toURI().toURL() + "!/BOOT-INF/lib/stored.jar!/a/");
+        List<String> entryNames = new ArrayList<>();
+        for (JarEntry jarEntry : SimpleJarEntryScanner.INSTANCE.scan(nestedURL, false)) {
+            entryNames.add(jarEntry.getName());
+        }
+        Assert.assertEquals(Arrays.asList("a/", "a/C.txt"), entryNames);
+        Assert.assertEquals(4, SimpleJarEntryScanner.INSTANCE.scan(nestedURL, true).size());
+    }
+
+    private File createExecutableJarFile() throws IOException {
+        byte[] nestedJar = createJar("a/", null, "a/b/", null, "a/b/B.class", data, "a/C.txt", data);
+        return createJarFile("executable.jar", "BOOT-INF/", null, "BOOT-INF/classes/", null,
+                "BOOT-INF/classes/a/A.class", data, "BOOT-INF/classes/a/b/B.class", data, "BOOT-INF/lib/", null,
+                "BOOT-INF/lib/stored.jar", stored(nestedJar), "BOOT-INF/lib/compressed.jar", nestedJar);
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.util.ClassUtils;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipException;
+
+/**
+ * {@link ZipCentralDirectory} {@link Test}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZipCentralDirectory
+ * @since 1.0.0
+ */
+public class ZipCentralDirectoryTest extends AbstractJarFileTestCase {
+
+    @Test
+    public void testRead() throws IOException {
+        byte[] data = StringUtils.repeat("microsphere", 100).getBytes("UTF-8");
+        File jarFile = createJarFile("entries.jar", "a/", null, "a/A.class", data, "a/中.txt", stored(data));
+
+        ZipCentralDirectory centralDirectory = ZipCentralDirectory.read(jarFile);
+        Assert.assertEquals(3, centralDirectory.size());
+        Assert.assertTrue(centralDirectory.contains("a/A.class"));
+        Assert.assertFalse(centralDirectory.contains("a/B.class"));
+        try (JarFile jar = new JarFile(jarFile)) {
+            ZipCentralDirectory.Cursor cursor = centralDirectory.cursor();
+            for (JarEntry jarEntry : Collections.list(jar.entries())) {
+                Assert.assertTrue(cursor.next());
+                Assert.assertEquals(jarEntry.getName(), cursor.getName());
+                Assert.assertEquals(jarEntry.isDirectory(), cursor.isDirectory());
+                Assert.assertEquals(jarEntry.getMethod(), cursor.getMethod());
+                Assert.assertEquals(jarEntry.getCrc(), cursor.getCrc());
+                Assert.assertEquals(jarEntry.getSize(), cursor.getSize());
+                Assert.assertEquals(jarEntry.getCompressedSize(), cursor.getCompressedSize());
+            }
+            Assert.assertFalse(cursor.next());
+        }
+
+        ZipCentralDirectory.Cursor cursor = centralDirectory.cursor();
+        Assert.assertTrue(cursor.next());
+        Assert.assertTrue(cursor.nameStartsWith("a/"));
+        Assert.assertEquals(0L, cursor.getLocalHeaderOffset());
+        Assert.assertTrue(cursor.next());
+        Assert.assertTrue(cursor.nameEndsWith(".class"));
+        Assert.assertEquals(1, cursor.nameIndexOf('/', 0));
+        Assert.assertEquals(-1, cursor.nameIndexOf('/', 2));
+
+        // The contents of the DEFLATED and STORED entries
+        cursor = centralDirectory.cursor();
+        while (cursor.next()) {
+            if (!cursor.isDirectory()) {
+                Assert.assertTrue(Arrays.equals(data, ZipCentralDirectory.readEntry(jarFile, cursor)));
+            }
+        }
+
+        // The prepended data, e.g the launch script of executable jar
+        File executableJarFile = new File(tempDirectory, "executable.jar");
+        byte[] script = "#!/bin/bash\nexit 0\n".getBytes("UTF-8");
+        try (FileOutputStream outputStream = new FileOutputStream(executableJarFile)) {
+            outputStream.write(script);
+            FileUtils.copyFile(jarFile, outputStream);
+        }
+        cursor = ZipCentralDirectory.read(executableJarFile).cursor();
+        List<String> entryNames = new ArrayList<>();
+        while (cursor.next()) {
+            if (entryNames.isEmpty()) {
+                Assert.assertEquals(script.length, cursor.getLocalHeaderOffset());
+            }
+            entryNames.add(cursor.getName());
+        }
+        Assert.assertEquals(Arrays.asList("a/", "a/A.class", "a/中.txt"), entryNames);
+
+        File invalidFile = new File(tempDirectory, "invalid.jar");
+        FileUtils.writeByteArrayToFile(invalidFile, data);
+        try {
+            ZipCentralDirectory.read(invalidFile);
+            Assert.fail();
+        } catch (ZipException e) {
+        }
+    }
+
+    @Test
+    public void testFindClassNamesInJarFile() throws IOException {
+        String classPath = ClassUtils.findClassPath(StringUtils.class);
+        Set<String> classNames = new LinkedHashSet<>();
+        try (JarFile jarFile = new JarFile(classPath)) {
+            for (JarEntry jarEntry : Collections.list(jarFile.entries())) {
+                if (jarEntry.getName().endsWith(".class")) {
+                    classNames.add(ClassUtils.resolveClassName(jarEntry.getName()));
+                }
+            }
+        }
+        Assert.assertEquals(classNames, ClassUtils.findClassNamesInClassPath(classPath, true));
+    }
+
+    @Test
+    public void testFindClassNamesInJarFileWithClassIndex() throws IOException {
+        ByteArrayOutputStream classIndex = new ByteArrayOutputStream();
+        JarClassIndex.of(Arrays.asList("a.A", "b.B")).write(classIndex);
+        File jarFile = createJarFile("indexed.jar", JarClassIndex.RESOURCE_NAME, classIndex.toByteArray(), "a/A.class", null);
+        // The class names are read from the class index rather than the entries
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("a.A", "b.B")),
+                ClassUtils.findClassNamesInClassPath(jarFile.getAbsolutePath(), true));
+    }
+}